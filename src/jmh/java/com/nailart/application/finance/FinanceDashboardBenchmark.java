@@ -0,0 +1,180 @@
+package com.nailart.application.finance;
+
+import com.nailart.domain.AppointmentStatus;
+import com.nailart.infrastructure.persistence.entity.AppointmentEntity;
+import com.nailart.infrastructure.persistence.entity.ExpenseEntity;
+import com.nailart.infrastructure.persistence.repository.AppointmentJpaRepository;
+import com.nailart.infrastructure.persistence.repository.ExpenseJpaRepository;
+import com.nailart.infrastructure.persistence.repository.FinanceDailyRollupJpaRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard financeiro sobre 100 mil agendamentos (Postgres embutido, repositórios reais):
+ * entidades carregadas e somadas em memória (implementação original), GROUP BY por status/categoria
+ * e soma dos rollups diários (implementação atual de {@link FinanceService#getDashboard}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class FinanceDashboardBenchmark {
+
+    private static final int APPOINTMENTS = 100_000;
+    private static final int EMPLOYEES = 20;
+    private static final int SLOTS_PER_DAY = 14;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+
+    private static final String SUM_PRICE_BY_STATUS = "SELECT a.status, SUM(a.priceCents) FROM AppointmentEntity a " +
+            "WHERE a.appointmentDate BETWEEN :start AND :end GROUP BY a.status";
+    private static final String SUM_AMOUNT_BY_CATEGORY = "SELECT SUM(e.amountCents) FROM ExpenseEntity e " +
+            "WHERE e.expenseDate BETWEEN :start AND :end GROUP BY e.category";
+
+    @Param({"30", "365"})
+    int periodDays;
+
+    private EmbeddedPostgres postgres;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+    private AppointmentJpaRepository appointmentRepo;
+    private ExpenseJpaRepository expenseRepo;
+    private FinanceDailyRollupJpaRepository rollupRepo;
+    private LocalDate start;
+    private LocalDate end;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        DataSource dataSource = postgres.getPostgresDatabase();
+        // V4 popula finance_daily_rollups a partir dos dados existentes: carga antes dela.
+        Flyway.configure().dataSource(dataSource).target("3").load().migrate();
+        seed(new JdbcTemplate(dataSource));
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        new JdbcTemplate(dataSource).execute("ANALYZE");
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("com.nailart.infrastructure.persistence.entity");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName()));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        JpaRepositoryFactory repositories = new JpaRepositoryFactory(entityManager);
+        appointmentRepo = repositories.getRepository(AppointmentJpaRepository.class);
+        expenseRepo = repositories.getRepository(ExpenseJpaRepository.class);
+        rollupRepo = repositories.getRepository(FinanceDailyRollupJpaRepository.class);
+        readOnly = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+        readOnly.setReadOnly(true);
+
+        start = FIRST_DAY;
+        end = FIRST_DAY.plusDays(periodDays - 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        entityManagerFactory.close();
+        postgres.close();
+    }
+
+    /** Implementação original: agendamentos e despesas do período como entidades, somados em Java. */
+    @Benchmark
+    public long entities() {
+        return readOnly.execute(s -> {
+            List<AppointmentEntity> appointments =
+                    appointmentRepo.findByAppointmentDateBetweenOrderByAppointmentDateAscStartTimeAsc(start, end);
+            long revenue = 0;
+            long losses = 0;
+            for (AppointmentEntity a : appointments) {
+                if (AppointmentStatus.CONFIRMED.name().equals(a.getStatus())) {
+                    revenue += a.getPriceCents();
+                } else {
+                    losses += a.getPriceCents();
+                }
+            }
+            long expenses = 0;
+            for (ExpenseEntity e : expenseRepo.findByExpenseDateBetweenOrderByExpenseDateAsc(start, end)) {
+                expenses += e.getAmountCents();
+            }
+            return revenue - losses - expenses;
+        });
+    }
+
+    /**
+     * Duas agregações no banco: uma linha por status e uma por categoria. As consultas ficam aqui porque só
+     * servem de comparação; a aplicação lê os rollups.
+     */
+    @Benchmark
+    public long groupBy() {
+        return readOnly.execute(s -> {
+            long total = 0;
+            for (Object[] t : entityManager.createQuery(SUM_PRICE_BY_STATUS, Object[].class)
+                    .setParameter("start", start).setParameter("end", end).getResultList()) {
+                long cents = (Long) t[1];
+                total += AppointmentStatus.CONFIRMED.name().equals(t[0]) ? cents : -cents;
+            }
+            for (Long cents : entityManager.createQuery(SUM_AMOUNT_BY_CATEGORY, Long.class)
+                    .setParameter("start", start).setParameter("end", end).getResultList()) {
+                total -= cents;
+            }
+            return total;
+        });
+    }
+
+    /** Soma dos rollups diários: no máximo uma linha por dia do período. */
+    @Benchmark
+    public long dailyRollups() {
+        return readOnly.execute(s -> {
+            var t = rollupRepo.sumBetween(start, end);
+            return t.getRevenueCents() - t.getCancellationLossCents() - t.getNoShowLossCents()
+                    - t.getExpenseFixedCents() - t.getExpenseVariableCents() - t.getExpenseMaterialsCents()
+                    - t.getExpenseEmployeesCents() - t.getExpenseOtherCents();
+        });
+    }
+
+    /**
+     * {@value #SLOTS_PER_DAY} agendamentos de 30 min por funcionário e dia, sem sobreposição; ~1 em 7 cancelado
+     * e 1 em 20 no-show. Uma despesa por dia, alternando categorias.
+     */
+    private static void seed(JdbcTemplate jdbc) {
+        jdbc.update("INSERT INTO users (id, keycloak_id, email, full_name) VALUES (md5('client')::uuid, 'client', 'c@bench.local', 'Cliente')");
+        jdbc.update("INSERT INTO services (id, name, price_cents, duration_min, duration_max) VALUES (md5('service')::uuid, 'Serviço', 5000, 30, 30)");
+        jdbc.update("INSERT INTO employees (id, full_name, email, keycloak_id, active) " +
+                "SELECT md5('employee-' || i)::uuid, 'Funcionária ' || i, 'f' || i || '@bench.local', 'employee-' || i, TRUE " +
+                "FROM generate_series(0, ?) i", EMPLOYEES - 1);
+        int perDay = EMPLOYEES * SLOTS_PER_DAY;
+        jdbc.update("INSERT INTO appointments (client_user_id, employee_id, service_id, appointment_date, start_time, end_time, " +
+                        "status, price_cents, duration_min, client_name, client_email) " +
+                        "SELECT md5('client')::uuid, md5('employee-' || ((n % ?) / ?))::uuid, md5('service')::uuid, " +
+                        "?::date + n / ?, TIME '08:00' + (n % ?) * INTERVAL '30 minutes', TIME '08:30' + (n % ?) * INTERVAL '30 minutes', " +
+                        "CASE WHEN n % 20 = 0 THEN 'NO_SHOW' WHEN n % 7 = 0 THEN 'CANCELLED' ELSE 'CONFIRMED' END, " +
+                        "3000 + (n % 5) * 1000, 30, 'Cliente', 'c@bench.local' " +
+                        "FROM generate_series(0, ?) n",
+                perDay, SLOTS_PER_DAY, FIRST_DAY, perDay, SLOTS_PER_DAY, SLOTS_PER_DAY, APPOINTMENTS - 1);
+        jdbc.update("INSERT INTO expenses (category, amount_cents, expense_date, description) " +
+                        "SELECT (ARRAY['FIXED', 'VARIABLE', 'MATERIALS', 'EMPLOYEES', 'OTHER'])[d % 5 + 1], 10000 + d, ?::date + d, 'Despesa' " +
+                        "FROM generate_series(0, ?) d",
+                FIRST_DAY, APPOINTMENTS / perDay);
+    }
+}
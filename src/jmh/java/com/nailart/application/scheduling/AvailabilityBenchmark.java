@@ -0,0 +1,152 @@
+package com.nailart.application.scheduling;
+
+import com.nailart.infrastructure.persistence.entity.EmployeeEntity;
+import com.nailart.infrastructure.persistence.entity.ServiceEntity;
+import com.nailart.infrastructure.persistence.repository.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminho de {@link AvailabilityService}: montagem do bitmap do dia (janelas - bloqueios - agendamentos),
+ * slots de um funcionário, união "qualquer profissional" com reservas temporárias e escolha do funcionário livre.
+ * O serviço e o {@link AvailabilityEngine} são os reais; repositórios e {@link DayScheduleLoader} são substituídos
+ * por versões em memória sobre {@link SyntheticSchedules}, com o cache de dias já aquecido.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AvailabilityBenchmark {
+
+    private static final UUID SERVICE_ID = new UUID(2, 0);
+
+    @Param({"1", "10", "50"})
+    int employees;
+
+    @Param({"0", "10", "100"})
+    int blocksPerEmployee;
+
+    @Param({"SPARSE", "DENSE"})
+    SyntheticSchedules.Density density;
+
+    private DayScheduleContext[] days;
+    private AvailabilityService availability;
+    private LocalTime probeStart;
+
+    @Setup
+    public void setUp() {
+        days = SyntheticSchedules.generate(employees, blocksPerEmployee, density);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        ServiceEntity service = ServiceEntity.builder()
+                .id(SERVICE_ID)
+                .name("Benchmark")
+                .priceCents(5000)
+                .durationMin(SyntheticSchedules.SERVICE_BLOCK_MINUTES - SyntheticSchedules.BUFFER_MINUTES)
+                .durationMax(SyntheticSchedules.SERVICE_BLOCK_MINUTES - SyntheticSchedules.BUFFER_MINUTES)
+                .active(true)
+                .build();
+        Map<UUID, EmployeeEntity> staff = new LinkedHashMap<>();
+        for (DayScheduleContext day : days) {
+            staff.put(day.employeeId(), EmployeeEntity.builder()
+                    .id(day.employeeId())
+                    .fullName("Funcionária " + day.employeeId())
+                    .active(true)
+                    .services(new HashSet<>(Set.of(service)))
+                    .build());
+        }
+
+        StudioCalendarCache calendar = new StudioCalendarCache(
+                RepositoryStandIns.of(StudioSettingsJpaRepository.class,
+                        Map.of("findFirstByOrderByCreatedAtAsc", args -> Optional.empty())),
+                RepositoryStandIns.unused(HolidayJpaRepository.class),
+                RepositoryStandIns.unused(EmployeeAvailabilityJpaRepository.class),
+                meterRegistry, Duration.ofHours(1), 5000);
+        SchedulingMetrics metrics = new SchedulingMetrics(meterRegistry);
+        AvailabilityEngine engine = new AvailabilityEngine(calendar, new SyntheticDayLoader(calendar, days), metrics,
+                meterRegistry, 20000, Duration.ofHours(1));
+        SlotHoldRegistry holds = new SlotHoldRegistry(meterRegistry, event -> { }, Duration.ofHours(1));
+        for (int i = 0; i < days.length; i += 5) {
+            holds.hold(new UUID(1, i), days[i].employeeId(), SyntheticSchedules.DAY, 15 * 60, 15 * 60 + SyntheticSchedules.SERVICE_BLOCK_MINUTES);
+        }
+        availability = new AvailabilityService(
+                RepositoryStandIns.of(EmployeeJpaRepository.class, Map.of(
+                        "findById", args -> Optional.ofNullable(staff.get((UUID) args[0])),
+                        "findActiveByServiceId", args -> List.copyOf(staff.values()))),
+                RepositoryStandIns.of(ServiceJpaRepository.class, Map.of(
+                        "findById", args -> Optional.of(service))),
+                calendar,
+                RepositoryStandIns.of(AppointmentJpaRepository.class, Map.of(
+                        "sumConfirmedMinutesByEmployee", args -> List.of())),
+                engine, holds, metrics);
+        probeStart = LocalTime.of(10, 30);
+
+        // Cache de dias aquecido: os benchmarks abaixo medem o caminho de uma requisição com o dia em cache.
+        engine.freeMinutes(staff.keySet(), SyntheticSchedules.DAY);
+    }
+
+    /** Cache frio: bitmap do dia a partir dos dados carregados. */
+    @Benchmark
+    public void buildDayBitmaps(Blackhole bh) {
+        for (DayScheduleContext day : days) {
+            bh.consume(day.toBitmap());
+        }
+    }
+
+    /** GET /availability para cada funcionário. */
+    @Benchmark
+    public void slotsPerEmployee(Blackhole bh) {
+        for (DayScheduleContext day : days) {
+            bh.consume(availability.getAvailableSlots(day.employeeId(), SERVICE_ID, SyntheticSchedules.DAY));
+        }
+    }
+
+    /** GET /availability/any: união dos slots, descontando reservas temporárias. */
+    @Benchmark
+    public List<LocalTime> slotsForAnyEmployee() {
+        return availability.getAvailableSlotsForService(SERVICE_ID, SyntheticSchedules.DAY);
+    }
+
+    /** Agendamento sem funcionário: quem está livre no horário pedido. */
+    @Benchmark
+    public Optional<UUID> pickLeastLoadedEmployee() {
+        return availability.pickLeastLoadedEmployee(SERVICE_ID, SyntheticSchedules.DAY, probeStart, Set.of());
+    }
+
+    /** {@link DayScheduleLoader} sobre as agendas sintéticas, no lugar das consultas de bloqueios e agendamentos. */
+    private static final class SyntheticDayLoader extends DayScheduleLoader {
+
+        private final Map<UUID, DayScheduleContext> byEmployee = new HashMap<>();
+
+        SyntheticDayLoader(StudioCalendarCache calendar, DayScheduleContext[] days) {
+            super(calendar, RepositoryStandIns.unused(EmployeeBlockJpaRepository.class),
+                    RepositoryStandIns.unused(AppointmentJpaRepository.class));
+            for (DayScheduleContext day : days) {
+                byEmployee.put(day.employeeId(), day);
+            }
+        }
+
+        @Override
+        public Map<LocalDate, DayScheduleContext> load(UUID employeeId, LocalDate from, LocalDate to) {
+            return Map.of(from, byEmployee.get(employeeId));
+        }
+
+        @Override
+        public Map<UUID, DayScheduleContext> load(Collection<UUID> employeeIds, LocalDate date) {
+            Map<UUID, DayScheduleContext> result = new LinkedHashMap<>();
+            for (UUID id : employeeIds) {
+                result.put(id, byEmployee.get(id));
+            }
+            return result;
+        }
+    }
+}
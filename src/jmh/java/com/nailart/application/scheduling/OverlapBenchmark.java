@@ -0,0 +1,65 @@
+package com.nailart.application.scheduling;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checagens de sobreposição usadas em agendamento e substituição: varredura dos agendamentos do dia
+ * ({@link DayScheduleContext#overlapsAppointment}) contra a consulta no bitmap ({@link DayBitmap#isFree}),
+ * para todos os inícios de slot do expediente.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OverlapBenchmark {
+
+    @Param({"SPARSE", "DENSE"})
+    SyntheticSchedules.Density density;
+
+    @Param({"0", "100"})
+    int blocksPerEmployee;
+
+    private DayScheduleContext day;
+    private DayBitmap bitmap;
+    private LocalTime[] starts;
+    private LocalTime[] ends;
+
+    @Setup
+    public void setUp() {
+        day = SyntheticSchedules.generate(1, blocksPerEmployee, density)[0];
+        bitmap = day.toBitmap();
+        int count = (19 * 60 - 8 * 60) / SyntheticSchedules.SLOT_MINUTES;
+        starts = new LocalTime[count];
+        ends = new LocalTime[count];
+        for (int i = 0; i < count; i++) {
+            int m = 8 * 60 + i * SyntheticSchedules.SLOT_MINUTES;
+            int end = Math.min(m + SyntheticSchedules.SERVICE_BLOCK_MINUTES, 24 * 60 - 1);
+            starts[i] = LocalTime.of(m / 60, m % 60);
+            ends[i] = LocalTime.of(end / 60, end % 60);
+        }
+    }
+
+    @Benchmark
+    public int overlapsAppointment() {
+        int conflicts = 0;
+        for (int i = 0; i < starts.length; i++) {
+            if (day.overlapsAppointment(starts[i], ends[i])) conflicts++;
+        }
+        return conflicts;
+    }
+
+    @Benchmark
+    public int bitmapIsFree() {
+        int free = 0;
+        for (int i = 0; i < starts.length; i++) {
+            int from = DayBitmap.minuteOf(starts[i]);
+            if (bitmap.isFree(from, DayBitmap.minuteOf(ends[i]))) free++;
+        }
+        return free;
+    }
+}
@@ -0,0 +1,32 @@
+package com.nailart.application.scheduling;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Repositórios em memória para os benchmarks: cada método usado responde pelo nome; qualquer outro
+ * falha, para que uma consulta nova no caminho medido não passe despercebida.
+ */
+final class RepositoryStandIns {
+
+    private RepositoryStandIns() {
+    }
+
+    static <T> T of(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) return answer.apply(args);
+            return switch (method.getName()) {
+                case "toString" -> type.getSimpleName() + " (stand-in)";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            };
+        }));
+    }
+
+    static <T> T unused(Class<T> type) {
+        return of(type, Map.of());
+    }
+}
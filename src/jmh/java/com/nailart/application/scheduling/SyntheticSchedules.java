@@ -0,0 +1,78 @@
+package com.nailart.application.scheduling;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Agendas sintéticas no formato que o {@link DayScheduleLoader} monta a partir dos repositórios:
+ * expediente 08:00–12:00 e 13:00–19:00, bloqueios aleatórios e agendamentos em sequência.
+ * Semente fixa, para que rodadas de versões diferentes usem os mesmos dados.
+ */
+public final class SyntheticSchedules {
+
+    static final LocalDate DAY = LocalDate.of(2025, 3, 15);
+    static final int SLOT_MINUTES = 15;
+    static final int BUFFER_MINUTES = 10;
+    static final int SERVICE_BLOCK_MINUTES = 60 + BUFFER_MINUTES;
+
+    private static final int OPEN = 8 * 60;
+    private static final int CLOSE = 19 * 60;
+    private static final int[] WINDOWS = {OPEN, 12 * 60, 13 * 60, CLOSE};
+
+    public enum Density {
+        /** Poucos agendamentos com intervalos longos entre eles. */
+        SPARSE(120),
+        /** Dia praticamente lotado: agendamentos colados, só o buffer entre eles. */
+        DENSE(0);
+
+        private final int maxGapMinutes;
+
+        Density(int maxGapMinutes) {
+            this.maxGapMinutes = maxGapMinutes;
+        }
+    }
+
+    private SyntheticSchedules() {
+    }
+
+    static DayScheduleContext[] generate(int employees, int blocksPerEmployee, Density density) {
+        Random random = new Random(42);
+        DayScheduleContext[] result = new DayScheduleContext[employees];
+        for (int e = 0; e < employees; e++) {
+            result[e] = new DayScheduleContext(
+                    new UUID(0, e), DAY, false, SLOT_MINUTES, BUFFER_MINUTES,
+                    WINDOWS.clone(),
+                    blocks(random, blocksPerEmployee),
+                    appointments(random, density));
+        }
+        return result;
+    }
+
+    private static int[] blocks(Random random, int count) {
+        int[] pairs = new int[count * 2];
+        for (int i = 0; i < count; i++) {
+            int start = OPEN + random.nextInt(CLOSE - OPEN);
+            pairs[2 * i] = start;
+            pairs[2 * i + 1] = Math.min(CLOSE, start + 5 + random.nextInt(56));
+        }
+        return pairs;
+    }
+
+    private static int[] appointments(Random random, Density density) {
+        int[] pairs = new int[2 * ((CLOSE - OPEN) / 30 + 1)];
+        int n = 0;
+        int cursor = OPEN;
+        while (true) {
+            int gap = density.maxGapMinutes == 0 ? 0 : random.nextInt(density.maxGapMinutes / SLOT_MINUTES + 1) * SLOT_MINUTES;
+            int start = cursor + gap;
+            int end = start + 30 + random.nextInt(5) * SLOT_MINUTES;
+            if (end > CLOSE) break;
+            pairs[n++] = start;
+            pairs[n++] = end + BUFFER_MINUTES;
+            cursor = ((end + BUFFER_MINUTES + SLOT_MINUTES - 1) / SLOT_MINUTES) * SLOT_MINUTES;
+        }
+        return Arrays.copyOf(pairs, n);
+    }
+}
@@ -0,0 +1,150 @@
+package com.nailart.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Uma operação do mix por chamada de {@link #next()}: listar serviços, consultar disponibilidade,
+ * agendar (consulta a disponibilidade e escolhe um dos horários livres) ou cancelar um agendamento criado no teste.
+ * Agendamentos e cancelamentos usam datas a partir de depois de amanhã, fora da janela de 6h de cancelamento.
+ * A primeira requisição de cada operação é medida a partir de {@code scheduledAt}; as seguintes, do próprio envio.
+ */
+final class BookingTraffic {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final ObjectMapper json = new ObjectMapper();
+    private final URI base;
+    private final StudioSeeder.SeededStudio studio;
+    private final Map<UUID, String> tokensByClient;
+    private final LoadTestOptions options;
+    private final LatencyReport report;
+    private final Endpoint[] weighted;
+    private final ConcurrentLinkedQueue<Booked> booked = new ConcurrentLinkedQueue<>();
+
+    BookingTraffic(HttpClient http, URI base, StudioSeeder.SeededStudio studio, Map<UUID, String> tokensByClient,
+                   LoadTestOptions options, LatencyReport report) {
+        this.http = http;
+        this.base = base;
+        this.studio = studio;
+        this.tokensByClient = tokensByClient;
+        this.options = options;
+        this.report = report;
+        int total = options.mix().values().stream().mapToInt(Integer::intValue).sum();
+        this.weighted = new Endpoint[total];
+        int i = 0;
+        for (var entry : options.mix().entrySet()) {
+            for (int n = 0; n < entry.getValue(); n++) weighted[i++] = entry.getKey();
+        }
+    }
+
+    void next(long scheduledAt) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (weighted[random.nextInt(weighted.length)]) {
+            case LIST_SERVICES -> call(Endpoint.LIST_SERVICES, get("/api/public/services", null), scheduledAt);
+            case AVAILABILITY -> availability(randomBooking(random), scheduledAt);
+            case CREATE_APPOINTMENT -> create(random, scheduledAt);
+            case CANCEL_APPOINTMENT -> cancel(random, scheduledAt);
+        }
+    }
+
+    private List<String> availability(Booking b, long scheduledAt) {
+        HttpResponse<String> response = call(Endpoint.AVAILABILITY, get("/api/public/availability?employeeId=" + b.employeeId()
+                + "&serviceId=" + b.serviceId() + "&date=" + b.date(), null), scheduledAt);
+        if (response == null || response.statusCode() != 200) return List.of();
+        try {
+            return json.readValue(response.body(), json.getTypeFactory().constructCollectionType(List.class, String.class));
+        } catch (Exception e) {
+            return List.of();
+        }
+    }
+
+    private void create(ThreadLocalRandom random, long scheduledAt) {
+        Booking b = randomBooking(random);
+        List<String> slots = availability(b, scheduledAt);
+        if (slots.isEmpty()) return;
+        StudioSeeder.Client client = studio.clients().get(random.nextInt(studio.clients().size()));
+        String body = "{\"employeeId\":\"" + b.employeeId() + "\",\"serviceId\":\"" + b.serviceId()
+                + "\",\"appointmentDate\":\"" + b.date() + "\",\"startTime\":\"" + slots.get(random.nextInt(slots.size())) + "\"}";
+        HttpResponse<String> response = call(Endpoint.CREATE_APPOINTMENT, post("/api/client/appointments", client, body), System.nanoTime());
+        if (response != null && response.statusCode() == 201) {
+            try {
+                JsonNode created = json.readTree(response.body());
+                booked.add(new Booked(client, UUID.fromString(created.get("id").asText())));
+            } catch (Exception ignored) {
+                // Resposta já contabilizada como sucesso; só não entra na fila de cancelamento.
+            }
+        }
+    }
+
+    private void cancel(ThreadLocalRandom random, long scheduledAt) {
+        Booked b = booked.poll();
+        if (b == null) {
+            create(random, scheduledAt);
+            return;
+        }
+        call(Endpoint.CANCEL_APPOINTMENT, post("/api/client/appointments/" + b.appointmentId() + "/cancel", b.client(), null),
+                scheduledAt);
+    }
+
+    private Booking randomBooking(ThreadLocalRandom random) {
+        UUID serviceId = studio.serviceIds().get(random.nextInt(studio.serviceIds().size()));
+        List<UUID> employees = studio.employeesByService().get(serviceId);
+        LocalDate date = LocalDate.now().plusDays(2 + random.nextInt(Math.max(1, options.horizonDays() - 1)));
+        return new Booking(employees.get(random.nextInt(employees.size())), serviceId, date);
+    }
+
+    private HttpRequest get(String path, StudioSeeder.Client client) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(base.resolve(path)).timeout(TIMEOUT).GET();
+        if (client != null) builder.header("Authorization", "Bearer " + tokensByClient.get(client.id()));
+        return builder.build();
+    }
+
+    private HttpRequest post(String path, StudioSeeder.Client client, String body) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .timeout(TIMEOUT)
+                .header("Authorization", "Bearer " + tokensByClient.get(client.id()))
+                .header("Content-Type", "application/json")
+                .POST(body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpResponse<String> call(Endpoint endpoint, HttpRequest request, long start) {
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            long elapsed = System.nanoTime() - start;
+            int status = response.statusCode();
+            if (status / 100 == 2) {
+                report.ok(endpoint, elapsed);
+            } else if (status == 409 || status == 422) {
+                report.rejected(endpoint, elapsed);
+            } else {
+                report.error(endpoint, elapsed);
+            }
+            return response;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            report.error(endpoint, System.nanoTime() - start);
+            return null;
+        }
+    }
+
+    private record Booking(UUID employeeId, UUID serviceId, LocalDate date) {}
+
+    private record Booked(StudioSeeder.Client client, UUID appointmentId) {}
+}
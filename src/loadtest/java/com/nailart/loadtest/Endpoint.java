@@ -0,0 +1,21 @@
+package com.nailart.loadtest;
+
+enum Endpoint {
+    LIST_SERVICES("listServices"),
+    AVAILABILITY("availability"),
+    CREATE_APPOINTMENT("createAppointment"),
+    CANCEL_APPOINTMENT("cancelAppointment");
+
+    final String key;
+
+    Endpoint(String key) {
+        this.key = key;
+    }
+
+    static Endpoint fromKey(String key) {
+        for (Endpoint e : values()) {
+            if (e.key.equals(key)) return e;
+        }
+        throw new IllegalArgumentException("Endpoint desconhecido no mix: " + key);
+    }
+}
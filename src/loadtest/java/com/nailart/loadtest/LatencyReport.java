@@ -0,0 +1,103 @@
+package com.nailart.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latência (HdrHistogram, em microssegundos) e contagem de respostas por endpoint.
+ * "rejected" são 409/422 esperados sob disputa de horário; "errors" são as demais falhas.
+ */
+final class LatencyReport {
+
+    private static final long MAX_MICROS = Duration.ofMinutes(1).toNanos() / 1000;
+
+    private final Map<Endpoint, Stats> stats = new EnumMap<>(Endpoint.class);
+
+    LatencyReport() {
+        for (Endpoint e : Endpoint.values()) {
+            stats.put(e, new Stats());
+        }
+    }
+
+    void ok(Endpoint endpoint, long nanos) {
+        record(endpoint, nanos).ok.increment();
+    }
+
+    void rejected(Endpoint endpoint, long nanos) {
+        record(endpoint, nanos).rejected.increment();
+    }
+
+    void error(Endpoint endpoint, long nanos) {
+        record(endpoint, nanos).errors.increment();
+    }
+
+    /** Descarta o que foi medido até aqui (fim do aquecimento). */
+    void reset() {
+        stats.values().forEach(Stats::reset);
+    }
+
+    void write(Duration measured, LoadTestOptions options, PrintStream out) throws IOException {
+        Files.createDirectories(options.reportDir());
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format(Locale.ROOT, "employees=%d services=%d clients=%d concurrency=%d rate=%s duration=%s virtualThreads=%s%n",
+                options.employees(), options.services(), options.clients(), options.concurrency(),
+                options.rate() > 0 ? options.rate() + "/s" : "-", measured, options.virtualThreads()));
+        summary.append(options.rate() > 0
+                ? "Latência medida a partir do envio agendado (inclui o atraso quando o servidor não acompanha a taxa).\n\n"
+                : "Laço fechado: cada cliente espera a resposta anterior, então os percentis omitem a espera dos envios "
+                + "adiados por respostas lentas (coordinated omission). Use --rate para carga em taxa fixa.\n\n");
+        summary.append(String.format(Locale.ROOT, "%-18s %9s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "ok", "rejected", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        double seconds = measured.toMillis() / 1000.0;
+        for (var entry : stats.entrySet()) {
+            Stats s = entry.getValue();
+            Histogram h = s.recorder.getIntervalHistogram();
+            long total = h.getTotalCount();
+            summary.append(String.format(Locale.ROOT, "%-18s %9d %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey().key, s.ok.sum(), s.rejected.sum(), s.errors.sum(), total / seconds,
+                    ms(h, 50), ms(h, 90), ms(h, 99), ms(h, 99.9), h.getMaxValue() / 1000.0));
+            if (total > 0) {
+                try (PrintStream hgrm = new PrintStream(Files.newOutputStream(options.reportDir().resolve(entry.getKey().key + ".hgrm")))) {
+                    h.outputPercentileDistribution(hgrm, 1000.0);
+                }
+            }
+        }
+        Files.writeString(options.reportDir().resolve("summary.txt"), summary);
+        out.print(summary);
+        out.println("\nHistogramas por endpoint (ms): " + options.reportDir().toAbsolutePath());
+    }
+
+    private Stats record(Endpoint endpoint, long nanos) {
+        Stats s = stats.get(endpoint);
+        s.recorder.recordValue(Math.min(Math.max(nanos / 1000, 1), MAX_MICROS));
+        return s;
+    }
+
+    private static double ms(Histogram h, double percentile) {
+        return h.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static final class Stats {
+        final Recorder recorder = new Recorder(MAX_MICROS, 3);
+        final LongAdder ok = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder errors = new LongAdder();
+
+        void reset() {
+            recorder.reset();
+            ok.reset();
+            rejected.reset();
+            errors.reset();
+        }
+    }
+}
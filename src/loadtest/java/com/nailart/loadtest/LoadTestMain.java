@@ -0,0 +1,111 @@
+package com.nailart.loadtest;
+
+import com.nailart.NailArtStudioApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de carga autocontido: sobe um Postgres embutido, a aplicação (portas aleatórias, inclusive a de gerenciamento) validando tokens de um
+ * emissor local, popula o estúdio e roda {@code concurrency} clientes com o mix configurado.
+ * Ao fim, imprime vazão e percentis por endpoint e grava os histogramas em {@code report-dir}.
+ *
+ * <p>Sem {@code rate}, cada cliente envia a próxima operação assim que recebe a resposta anterior (laço fechado):
+ * uma resposta lenta adia os envios seguintes e a espera deles não entra nos percentis (coordinated omission).
+ * Com {@code rate}, cada cliente segue uma agenda fixa de {@code concurrency / rate} entre operações e a latência
+ * é medida a partir do instante agendado, incluindo o atraso acumulado quando o servidor não acompanha.
+ *
+ * <p>Opções ({@code --chave=valor}): employees, services, clients, history-days, history-per-employee-day,
+ * horizon-days, concurrency, rate (operações/s no total), warmup, duration (ISO-8601, ex. PT60S), mix
+ * (ex. listServices=35,availability=45,createAppointment=12,cancelAppointment=8), virtual-threads, seed, report-dir.
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Path workDir = Files.createTempDirectory("nailart-loadtest");
+        LocalJwtIssuer issuer = new LocalJwtIssuer();
+        Path jwks = issuer.writeJwkSet(workDir);
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            // Argumentos de linha de comando: precedem o application.properties.
+            String[] appArgs = {
+                    "--server.port=0",
+                    "--management.server.port=0",
+                    "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                    "--spring.datasource.username=postgres",
+                    "--spring.datasource.password=postgres",
+                    "--spring.security.oauth2.resourceserver.jwt.issuer-uri=" + LocalJwtIssuer.ISSUER,
+                    "--nailart.security.jwk-set-location=" + jwks.toUri(),
+                    "--spring.threads.virtual.enabled=" + options.virtualThreads(),
+                    "--logging.level.root=WARN"
+            };
+
+            try (ConfigurableApplicationContext app = new SpringApplicationBuilder(NailArtStudioApplication.class).run(appArgs)) {
+                int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                StudioSeeder.SeededStudio studio = new StudioSeeder(app.getBean(JdbcTemplate.class), options).seed();
+
+                Duration ttl = options.warmup().plus(options.duration()).plusHours(1);
+                Map<UUID, String> tokens = new HashMap<>();
+                for (StudioSeeder.Client c : studio.clients()) {
+                    tokens.put(c.id(), issuer.token(c.keycloakId(), c.name(), "client", ttl));
+                }
+
+                LatencyReport report = new LatencyReport();
+                HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+                BookingTraffic traffic = new BookingTraffic(http, URI.create("http://localhost:" + port), studio, tokens, options, report);
+                run(traffic, report, options);
+                report.write(options.duration(), options, System.out);
+            }
+        }
+    }
+
+    private static void run(BookingTraffic traffic, LatencyReport report, LoadTestOptions options) throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long deadline = measureFrom + options.duration().toNanos();
+        long interval = options.rate() > 0 ? Math.round(options.concurrency() * 1e9 / options.rate()) : 0;
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.concurrency(); i++) {
+                // Agendas defasadas entre os clientes, para a taxa não chegar em rajadas.
+                long firstAt = start + i * interval / options.concurrency();
+                clients.submit(() -> {
+                    client(traffic, firstAt, interval, deadline);
+                    return null;
+                });
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, measureFrom - System.nanoTime()));
+            report.reset();
+        }
+    }
+
+    private static void client(BookingTraffic traffic, long firstAt, long interval, long deadline) throws InterruptedException {
+        if (interval == 0) {
+            while (System.nanoTime() < deadline) {
+                traffic.next(System.nanoTime());
+            }
+            return;
+        }
+        for (long scheduledAt = firstAt; scheduledAt < deadline; scheduledAt += interval) {
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, scheduledAt - System.nanoTime()));
+            traffic.next(scheduledAt);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.nailart.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parâmetros do teste de carga, no formato {@code --chave=valor}. Valores omitidos usam o padrão.
+ * {@code rate} é a taxa total de operações por segundo; 0 roda em laço fechado.
+ */
+record LoadTestOptions(
+        int employees,
+        int services,
+        int clients,
+        int historyDays,
+        int historyPerEmployeeDay,
+        int horizonDays,
+        int concurrency,
+        double rate,
+        Duration warmup,
+        Duration duration,
+        Map<Endpoint, Integer> mix,
+        boolean virtualThreads,
+        long seed,
+        Path reportDir
+) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Argumento inválido (use --chave=valor): " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("employees", "10")),
+                Integer.parseInt(values.getOrDefault("services", "8")),
+                Integer.parseInt(values.getOrDefault("clients", "500")),
+                Integer.parseInt(values.getOrDefault("history-days", "60")),
+                Integer.parseInt(values.getOrDefault("history-per-employee-day", "6")),
+                Integer.parseInt(values.getOrDefault("horizon-days", "14")),
+                Integer.parseInt(values.getOrDefault("concurrency", "64")),
+                Double.parseDouble(values.getOrDefault("rate", "0")),
+                Duration.parse(values.getOrDefault("warmup", "PT10S")),
+                Duration.parse(values.getOrDefault("duration", "PT60S")),
+                parseMix(values.getOrDefault("mix", "listServices=35,availability=45,createAppointment=12,cancelAppointment=8")),
+                Boolean.parseBoolean(values.getOrDefault("virtual-threads", "false")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Path.of(values.getOrDefault("report-dir", "target/loadtest"))
+        );
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String spec) {
+        Map<Endpoint, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=");
+            mix.put(Endpoint.fromKey(kv[0]), Integer.parseInt(kv[1]));
+        }
+        return mix;
+    }
+}
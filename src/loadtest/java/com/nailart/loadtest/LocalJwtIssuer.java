@@ -0,0 +1,61 @@
+package com.nailart.loadtest;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Substitui o Keycloak: gera um par RSA, publica a chave pública como JWK set em arquivo
+ * (lido pela aplicação via {@code nailart.security.jwk-set-location}) e assina tokens com o mesmo formato de claims.
+ */
+final class LocalJwtIssuer {
+
+    static final String ISSUER = "http://loadtest.local/realms/nailart";
+
+    private final RSAKey key;
+    private final RSASSASigner signer;
+
+    LocalJwtIssuer() throws JOSEException {
+        this.key = new RSAKeyGenerator(2048).keyID("loadtest").generate();
+        this.signer = new RSASSASigner(key);
+    }
+
+    Path writeJwkSet(Path dir) throws IOException {
+        Path file = dir.resolve("jwks.json");
+        Files.writeString(file, new JWKSet(key.toPublicJWK()).toString());
+        return file;
+    }
+
+    String token(String subject, String name, String role, Duration ttl) throws JOSEException {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(ISSUER)
+                .subject(subject)
+                .jwtID(UUID.randomUUID().toString())
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(ttl)))
+                .claim("realm_access", Map.of("roles", List.of(role)))
+                .claim("email", subject + "@loadtest.local")
+                .claim("name", name)
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(signer);
+        return jwt.serialize();
+    }
+}
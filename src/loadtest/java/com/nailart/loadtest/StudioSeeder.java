@@ -0,0 +1,155 @@
+package com.nailart.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Popula o banco recém-migrado com um estúdio sintético: serviços, funcionários (cada um atende parte dos serviços,
+ * expediente seg–sáb 08–12 e 13–19), clientes e histórico de agendamentos. Insere direto via JDBC, em lote.
+ * Os rollups financeiros do histórico não são recalculados (o dashboard não faz parte do mix).
+ */
+final class StudioSeeder {
+
+    private static final String[] STATUSES = {"CONFIRMED", "CONFIRMED", "CONFIRMED", "CONFIRMED", "CONFIRMED",
+            "CONFIRMED", "CONFIRMED", "CONFIRMED", "CANCELLED", "NO_SHOW"};
+
+    private final JdbcTemplate jdbc;
+    private final LoadTestOptions options;
+    private final Random random;
+
+    StudioSeeder(JdbcTemplate jdbc, LoadTestOptions options) {
+        this.jdbc = jdbc;
+        this.options = options;
+        this.random = new Random(options.seed());
+    }
+
+    SeededStudio seed() {
+        List<Service> services = seedServices();
+        Map<UUID, List<UUID>> employeesByService = new HashMap<>();
+        Map<UUID, List<Service>> servicesByEmployee = new HashMap<>();
+        List<UUID> employees = seedEmployees(services, employeesByService, servicesByEmployee);
+        List<Client> clients = seedClients();
+        seedHistory(employees, servicesByEmployee, clients);
+        return new SeededStudio(services.stream().map(Service::id).toList(), employeesByService, clients);
+    }
+
+    private List<Service> seedServices() {
+        List<Service> services = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < options.services(); i++) {
+            int durationMin = 30 + random.nextInt(4) * 15;
+            int durationMax = durationMin + random.nextInt(3) * 15;
+            Service s = new Service(UUID.randomUUID(), 3000 + random.nextInt(20) * 500, durationMax);
+            services.add(s);
+            rows.add(new Object[]{s.id(), "Serviço " + (i + 1), s.priceCents(), durationMin, durationMax});
+        }
+        jdbc.batchUpdate("INSERT INTO services (id, name, price_cents, duration_min, duration_max, active) VALUES (?, ?, ?, ?, ?, TRUE)", rows);
+        return services;
+    }
+
+    private List<UUID> seedEmployees(List<Service> services, Map<UUID, List<UUID>> employeesByService,
+                                     Map<UUID, List<Service>> servicesByEmployee) {
+        List<UUID> employees = new ArrayList<>();
+        List<Object[]> employeeRows = new ArrayList<>();
+        List<Object[]> serviceRows = new ArrayList<>();
+        List<Object[]> availabilityRows = new ArrayList<>();
+        for (int i = 0; i < options.employees(); i++) {
+            UUID id = UUID.randomUUID();
+            employees.add(id);
+            employeeRows.add(new Object[]{id, "Funcionária " + (i + 1), "func" + (i + 1) + "@loadtest.local"});
+            List<Service> served = new ArrayList<>();
+            for (Service s : services) {
+                if (served.isEmpty() || random.nextInt(100) < 60) {
+                    served.add(s);
+                    serviceRows.add(new Object[]{id, s.id()});
+                    employeesByService.computeIfAbsent(s.id(), k -> new ArrayList<>()).add(id);
+                }
+            }
+            servicesByEmployee.put(id, served);
+            // DB: 1=domingo .. 7=sábado
+            for (int dow = 2; dow <= 7; dow++) {
+                availabilityRows.add(new Object[]{id, dow, Time.valueOf(LocalTime.of(8, 0)), Time.valueOf(LocalTime.of(12, 0))});
+                availabilityRows.add(new Object[]{id, dow, Time.valueOf(LocalTime.of(13, 0)), Time.valueOf(LocalTime.of(19, 0))});
+            }
+        }
+        // Serviços sem nenhum funcionário ficam com o primeiro, para que todo serviço seja agendável.
+        for (Service s : services) {
+            if (!employeesByService.containsKey(s.id())) {
+                UUID first = employees.get(0);
+                serviceRows.add(new Object[]{first, s.id()});
+                employeesByService.computeIfAbsent(s.id(), k -> new ArrayList<>()).add(first);
+                servicesByEmployee.get(first).add(s);
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO employees (id, full_name, email, active) VALUES (?, ?, ?, TRUE)", employeeRows);
+        jdbc.batchUpdate("INSERT INTO employee_services (employee_id, service_id) VALUES (?, ?)", serviceRows);
+        jdbc.batchUpdate("INSERT INTO employee_availability (employee_id, day_of_week, start_time, end_time) VALUES (?, ?, ?, ?)", availabilityRows);
+        return employees;
+    }
+
+    private List<Client> seedClients() {
+        List<Client> clients = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < options.clients(); i++) {
+            Client c = new Client(UUID.randomUUID(), "loadtest-client-" + i, "Cliente " + i);
+            clients.add(c);
+            rows.add(new Object[]{c.id(), c.keycloakId(), c.keycloakId() + "@loadtest.local", c.name()});
+        }
+        jdbc.batchUpdate("INSERT INTO users (id, keycloak_id, email, full_name, blocked) VALUES (?, ?, ?, ?, FALSE)", rows);
+        return clients;
+    }
+
+    private void seedHistory(List<UUID> employees, Map<UUID, List<Service>> servicesByEmployee, List<Client> clients) {
+        LocalDate today = LocalDate.now();
+        List<Object[]> rows = new ArrayList<>();
+        for (LocalDate day = today.minusDays(options.historyDays()); day.isBefore(today); day = day.plusDays(1)) {
+            if (day.getDayOfWeek() == DayOfWeek.SUNDAY) continue;
+            for (UUID employee : employees) {
+                List<Service> served = servicesByEmployee.get(employee);
+                int minute = 8 * 60;
+                for (int n = 0; n < options.historyPerEmployeeDay(); n++) {
+                    Service s = served.get(random.nextInt(served.size()));
+                    if (minute + s.durationMax() > 19 * 60) break;
+                    Client c = clients.get(random.nextInt(clients.size()));
+                    rows.add(new Object[]{
+                            UUID.randomUUID(), c.id(), employee, s.id(), Date.valueOf(day),
+                            Time.valueOf(LocalTime.of(minute / 60, minute % 60)),
+                            Time.valueOf(LocalTime.of((minute + s.durationMax()) / 60, (minute + s.durationMax()) % 60)),
+                            STATUSES[random.nextInt(STATUSES.length)], s.priceCents(), s.durationMax(),
+                            c.name(), c.keycloakId() + "@loadtest.local"});
+                    minute += ((s.durationMax() + 10 + 14) / 15) * 15;
+                }
+            }
+            if (rows.size() >= 5000) {
+                insertAppointments(rows);
+                rows.clear();
+            }
+        }
+        insertAppointments(rows);
+    }
+
+    private void insertAppointments(List<Object[]> rows) {
+        if (rows.isEmpty()) return;
+        jdbc.batchUpdate("""
+                INSERT INTO appointments (id, client_user_id, employee_id, service_id, appointment_date, start_time, end_time,
+                                          status, price_cents, duration_min, client_name, client_email)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""", rows);
+    }
+
+    record SeededStudio(List<UUID> serviceIds, Map<UUID, List<UUID>> employeesByService, List<Client> clients) {}
+
+    record Client(UUID id, String keycloakId, String name) {}
+
+    private record Service(UUID id, int priceCents, int durationMax) {}
+}
@@ -1,11 +1,17 @@
 package com.nailart.application.employees;
 
+import com.nailart.application.scheduling.AvailabilityChangedEvent;
+import com.nailart.application.scheduling.AvailabilityEngine;
+import com.nailart.application.services.CatalogVersion;
+import com.nailart.application.support.TransactionCallbacks;
+import com.nailart.application.users.PrincipalDirectory;
 import com.nailart.infrastructure.persistence.entity.EmployeeAvailabilityEntity;
 import com.nailart.infrastructure.persistence.entity.EmployeeBlockEntity;
 import com.nailart.infrastructure.persistence.entity.EmployeeEntity;
 import com.nailart.infrastructure.persistence.entity.ServiceEntity;
 import com.nailart.infrastructure.persistence.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +31,10 @@ public class EmployeeService {
     private final ServiceJpaRepository serviceRepo;
     private final EmployeeAvailabilityJpaRepository availabilityRepo;
     private final EmployeeBlockJpaRepository blockRepo;
+    private final AvailabilityEngine availabilityEngine;
+    private final ApplicationEventPublisher events;
+    private final PrincipalDirectory principals;
+    private final CatalogVersion catalogVersion;
 
     @Transactional(readOnly = true)
     public List<EmployeeEntity> listActive() {
@@ -64,6 +74,7 @@ public class EmployeeService {
             e.setServices(services);
             e = employeeRepo.save(e);
         }
+        catalogVersion.bump();
         return e;
     }
 
@@ -83,12 +94,16 @@ public class EmployeeService {
                     .collect(Collectors.toSet());
             e.setServices(services);
         }
+        catalogVersion.bump();
         return employeeRepo.save(e);
     }
 
     @Transactional
     public void delete(UUID id) {
         employeeRepo.deleteById(id);
+        availabilityEngine.invalidateEmployee(id);
+        TransactionCallbacks.afterCommit(() -> principals.forgetEmployee(id));
+        catalogVersion.bump();
     }
 
     @Transactional(readOnly = true)
@@ -107,7 +122,9 @@ public class EmployeeService {
                 .endTime(endTime)
                 .isLunchBreak(isLunchBreak)
                 .build();
-        return availabilityRepo.save(a);
+        EmployeeAvailabilityEntity saved = availabilityRepo.save(a);
+        availabilityEngine.invalidateEmployee(employeeId);
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -126,6 +143,9 @@ public class EmployeeService {
                 .endTime(endTime)
                 .reason(reason)
                 .build();
-        return blockRepo.save(b);
+        EmployeeBlockEntity saved = blockRepo.save(b);
+        availabilityEngine.markBusy(employeeId, blockDate, startTime, endTime);
+        events.publishEvent(new AvailabilityChangedEvent(employeeId, blockDate));
+        return saved;
     }
 }
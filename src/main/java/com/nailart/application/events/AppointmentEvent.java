@@ -0,0 +1,25 @@
+package com.nailart.application.events;
+
+import com.nailart.domain.AppointmentEventType;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Mudança de estado de um agendamento, lida do outbox. {@code previousEmployeeId} só é preenchido em substituições.
+ */
+public record AppointmentEvent(
+        long id,
+        AppointmentEventType type,
+        UUID appointmentId,
+        UUID employeeId,
+        UUID previousEmployeeId,
+        LocalDate appointmentDate,
+        LocalTime startTime,
+        LocalTime endTime,
+        int priceCents,
+        Instant occurredAt
+) {
+}
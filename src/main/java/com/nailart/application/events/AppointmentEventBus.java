@@ -0,0 +1,143 @@
+package com.nailart.application.events;
+
+import com.nailart.infrastructure.persistence.repository.AppointmentEventJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Barramento em processo para eventos de agendamento: fila limitada consumida por uma thread que entrega
+ * lotes a todos os {@link AppointmentEventConsumer}s e, se todos aceitarem, marca os eventos como publicados
+ * no outbox. Se algum falhar, o lote inteiro deixa de estar em trânsito sem ser marcado e o relay o reenvia.
+ * Quando a fila enche, {@link #offer} recusa e o relay tenta de novo depois (backpressure).
+ */
+@Slf4j
+@Component
+public class AppointmentEventBus {
+
+    private final List<AppointmentEventConsumer> consumers;
+    private final AppointmentEventJpaRepository eventRepo;
+    private final BlockingQueue<AppointmentEvent> queue;
+    // Ids na fila ou no lote em entrega; o relay relê o outbox inteiro e não deve enfileirá-los de novo.
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final int maxBatch;
+    private final Map<AppointmentEventConsumer, Counter> consumerFailures = new IdentityHashMap<>();
+    private final Counter delivered;
+    private final DistributionSummary batchSize;
+    private final Timer lag;
+    private volatile Thread worker;
+
+    public AppointmentEventBus(
+            ObjectProvider<AppointmentEventConsumer> consumers,
+            AppointmentEventJpaRepository eventRepo,
+            MeterRegistry meterRegistry,
+            @Value("${nailart.events.queue.capacity:1000}") int capacity,
+            @Value("${nailart.events.queue.max-batch:100}") int maxBatch
+    ) {
+        this.consumers = consumers.orderedStream().toList();
+        this.eventRepo = eventRepo;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatch = maxBatch;
+        for (AppointmentEventConsumer consumer : this.consumers) {
+            consumerFailures.put(consumer, Counter.builder("appointment.events.consumer.failures")
+                    .tag("consumer", consumer.name())
+                    .register(meterRegistry));
+        }
+        this.delivered = Counter.builder("appointment.events.delivered").register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("appointment.events.batch.size").register(meterRegistry);
+        this.lag = Timer.builder("appointment.events.lag")
+                .description("Tempo entre a gravação no outbox e a entrega aos consumidores")
+                .register(meterRegistry);
+        Gauge.builder("appointment.events.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+    }
+
+    /** Enfileira o evento; {@code false} se a fila estiver cheia. Evento já em trânsito é ignorado. */
+    public boolean offer(AppointmentEvent event) {
+        if (!inFlight.add(event.id())) return true;
+        if (queue.offer(event)) return true;
+        inFlight.remove(event.id());
+        return false;
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    @PostConstruct
+    void start() {
+        // Atribuído antes do start: o laço de run() termina quando worker é nulo.
+        Thread t = Thread.ofPlatform().name("appointment-events").daemon().unstarted(this::run);
+        worker = t;
+        t.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        Thread t = worker;
+        worker = null;
+        if (t != null) t.interrupt();
+    }
+
+    private void run() {
+        List<AppointmentEvent> batch = new ArrayList<>(maxBatch);
+        while (worker != null) {
+            try {
+                AppointmentEvent first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                // Eventos não marcados continuam no outbox e o relay os reenvia.
+                log.error("Falha ao publicar lote de {} eventos de agendamento", batch.size(), e);
+            } finally {
+                batch.forEach(e -> inFlight.remove(e.id()));
+                batch.clear();
+            }
+        }
+    }
+
+    private void dispatch(List<AppointmentEvent> batch) {
+        List<AppointmentEvent> view = List.copyOf(batch);
+        boolean accepted = true;
+        for (AppointmentEventConsumer consumer : consumers) {
+            try {
+                consumer.onEvents(view);
+            } catch (RuntimeException e) {
+                accepted = false;
+                consumerFailures.get(consumer).increment();
+                log.warn("Consumidor {} falhou em lote de {} eventos; o lote será reenviado", consumer.name(), view.size(), e);
+            }
+        }
+        if (!accepted) return;
+        Instant now = Instant.now();
+        eventRepo.markPublished(view.stream().map(AppointmentEvent::id).toList(), now);
+        for (AppointmentEvent e : view) {
+            lag.record(Duration.between(e.occurredAt(), now));
+        }
+        delivered.increment(view.size());
+        batchSize.record(view.size());
+    }
+}
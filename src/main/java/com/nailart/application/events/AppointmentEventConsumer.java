@@ -0,0 +1,14 @@
+package com.nailart.application.events;
+
+import java.util.List;
+
+/**
+ * Consumidor do barramento de eventos de agendamento. Recebe lotes em ordem de ocorrência, fora da transação
+ * que gerou os eventos; a entrega é pelo menos uma vez, então o processamento deve ser idempotente.
+ */
+public interface AppointmentEventConsumer {
+
+    String name();
+
+    void onEvents(List<AppointmentEvent> batch);
+}
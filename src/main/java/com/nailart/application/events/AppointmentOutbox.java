@@ -0,0 +1,116 @@
+package com.nailart.application.events;
+
+import com.nailart.domain.AppointmentEventType;
+import com.nailart.infrastructure.persistence.entity.AppointmentEntity;
+import com.nailart.infrastructure.persistence.entity.AppointmentEventEntity;
+import com.nailart.infrastructure.persistence.repository.AppointmentEventJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outbox transacional: eventos são gravados em appointment_events na mesma transação da mudança de estado
+ * e repassados ao {@link AppointmentEventBus} por um relay periódico. Só são marcados como publicados depois
+ * de aceitos por todos os consumidores, então sobrevivem a reinícios e a falhas de entrega. Eventos publicados
+ * são apagados após o período de retenção.
+ */
+@Component
+public class AppointmentOutbox {
+
+    private final AppointmentEventJpaRepository eventRepo;
+    private final AppointmentEventBus bus;
+    private final boolean relayEnabled;
+    private final int batchSize;
+    private final Duration retention;
+    private final AtomicLong oldestPendingAgeMillis = new AtomicLong();
+    private final Counter backpressure;
+
+    public AppointmentOutbox(
+            AppointmentEventJpaRepository eventRepo,
+            AppointmentEventBus bus,
+            MeterRegistry meterRegistry,
+            @Value("${nailart.events.relay.enabled:true}") boolean relayEnabled,
+            @Value("${nailart.events.relay.batch-size:200}") int batchSize,
+            @Value("${nailart.events.retention:P7D}") Duration retention
+    ) {
+        this.eventRepo = eventRepo;
+        this.bus = bus;
+        this.relayEnabled = relayEnabled;
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.backpressure = Counter.builder("appointment.events.backpressure").register(meterRegistry);
+        Gauge.builder("appointment.events.outbox.lag", oldestPendingAgeMillis, AtomicLong::get)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /** Grava o evento na transação corrente; exige transação ativa. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(AppointmentEventType type, AppointmentEntity appointment, UUID previousEmployeeId) {
+        eventRepo.save(AppointmentEventEntity.builder()
+                .eventType(type.name())
+                .appointmentId(appointment.getId())
+                .employeeId(appointment.getEmployee().getId())
+                .previousEmployeeId(previousEmployeeId)
+                .appointmentDate(appointment.getAppointmentDate())
+                .startTime(appointment.getStartTime())
+                .endTime(appointment.getEndTime())
+                .priceCents(appointment.getPriceCents())
+                .occurredAt(Instant.now())
+                .build());
+    }
+
+    /**
+     * Relê os eventos não publicados em ordem de id. Os que ainda estão no barramento são ignorados por ele;
+     * os de um lote que falhou voltam a ser não publicados e não estão mais em trânsito, então são reenviados.
+     * O limite soma os eventos em trânsito para que sempre caibam {@code batchSize} eventos novos.
+     */
+    @Scheduled(fixedDelayString = "${nailart.events.relay.poll-interval:PT0.5S}")
+    public void relay() {
+        if (!relayEnabled) return;
+        List<AppointmentEventEntity> pending = eventRepo.findByPublishedAtIsNullOrderByIdAsc(
+                Limit.of(batchSize + bus.inFlight()));
+        oldestPendingAgeMillis.set(pending.isEmpty()
+                ? 0
+                : Duration.between(pending.get(0).getOccurredAt(), Instant.now()).toMillis());
+        for (AppointmentEventEntity e : pending) {
+            if (!bus.offer(toEvent(e))) {
+                // Fila cheia: o restante fica no outbox e é relido na próxima execução.
+                backpressure.increment();
+                return;
+            }
+        }
+    }
+
+    @Scheduled(cron = "${nailart.events.retention-cron:0 0 4 * * *}", zone = "America/Sao_Paulo")
+    public void purgePublished() {
+        if (!relayEnabled) return;
+        eventRepo.deletePublishedBefore(Instant.now().minus(retention));
+    }
+
+    private static AppointmentEvent toEvent(AppointmentEventEntity e) {
+        return new AppointmentEvent(
+                e.getId(),
+                AppointmentEventType.valueOf(e.getEventType()),
+                e.getAppointmentId(),
+                e.getEmployeeId(),
+                e.getPreviousEmployeeId(),
+                e.getAppointmentDate(),
+                e.getStartTime(),
+                e.getEndTime(),
+                e.getPriceCents(),
+                e.getOccurredAt());
+    }
+}
@@ -0,0 +1,71 @@
+package com.nailart.application.finance;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nailart.application.support.TransactionCallbacks;
+import com.nailart.domain.FinanceGranularity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Totais de buckets já encerrados da série financeira. Não mudam com o passar do tempo, apenas quando
+ * o rollup de um dia do bucket é alterado (ex.: despesa lançada com data passada), o que remove o bucket após o commit.
+ */
+@Component
+public class FinanceBucketCache {
+
+    private final Cache<BucketKey, FinanceService.FinanceDashboard> buckets;
+    // Incrementado a cada remoção; impede que uma leitura concorrente grave um bucket desatualizado.
+    private final AtomicLong writeEpoch = new AtomicLong();
+
+    public FinanceBucketCache(
+            MeterRegistry meterRegistry,
+            @Value("${nailart.finance.series.cache.max-buckets:5000}") long maxBuckets,
+            @Value("${nailart.finance.series.cache.ttl:6h}") Duration ttl
+    ) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "finance.series.buckets");
+    }
+
+    FinanceService.FinanceDashboard get(FinanceGranularity granularity, LocalDate bucketStart) {
+        return buckets.getIfPresent(new BucketKey(granularity, bucketStart));
+    }
+
+    /** Lido antes de carregar os rollups de um bucket; ver {@link #put}. */
+    long epoch() {
+        return writeEpoch.get();
+    }
+
+    /**
+     * Guarda o bucket só se nenhuma remoção aconteceu desde {@code epoch}: totais lidos antes de um commit
+     * concorrente não substituem a remoção feita por ele.
+     */
+    void put(FinanceGranularity granularity, LocalDate bucketStart, FinanceService.FinanceDashboard totals, long epoch) {
+        BucketKey key = new BucketKey(granularity, bucketStart);
+        buckets.asMap().compute(key, (k, previous) -> writeEpoch.get() == epoch ? totals : previous);
+    }
+
+    /** Remove, após o commit da transação corrente, os buckets de todas as granularidades que contêm o dia. */
+    void evictDayAfterCommit(LocalDate day) {
+        TransactionCallbacks.afterCommit(() -> evictDay(day));
+    }
+
+    private void evictDay(LocalDate day) {
+        writeEpoch.incrementAndGet();
+        for (FinanceGranularity g : FinanceGranularity.values()) {
+            buckets.invalidate(new BucketKey(g, g.bucketStart(day)));
+        }
+    }
+
+    private record BucketKey(FinanceGranularity granularity, LocalDate start) {}
+}
@@ -0,0 +1,37 @@
+package com.nailart.application.finance;
+
+import com.nailart.infrastructure.persistence.repository.AppointmentJpaRepository;
+import com.nailart.infrastructure.persistence.repository.ExpenseJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Exportação linha a linha: o cursor do banco é lido em lotes e cada linha é entregue ao {@code sink}
+ * sem acumular o período em memória.
+ */
+@Service
+@RequiredArgsConstructor
+public class FinanceExportService {
+
+    private final AppointmentJpaRepository appointmentRepo;
+    private final ExpenseJpaRepository expenseRepo;
+
+    @Transactional(readOnly = true)
+    public void forEachAppointment(LocalDate start, LocalDate end, Consumer<AppointmentJpaRepository.ExportRow> sink) {
+        try (Stream<AppointmentJpaRepository.ExportRow> rows = appointmentRepo.streamForExport(start, end)) {
+            rows.forEach(sink);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void forEachExpense(LocalDate start, LocalDate end, Consumer<ExpenseJpaRepository.ExportRow> sink) {
+        try (Stream<ExpenseJpaRepository.ExportRow> rows = expenseRepo.streamForExport(start, end)) {
+            rows.forEach(sink);
+        }
+    }
+}
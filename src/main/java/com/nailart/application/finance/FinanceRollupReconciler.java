@@ -0,0 +1,113 @@
+package com.nailart.application.finance;
+
+import com.nailart.infrastructure.persistence.entity.FinanceDailyRollupEntity;
+import com.nailart.infrastructure.persistence.repository.AppointmentJpaRepository;
+import com.nailart.infrastructure.persistence.repository.ExpenseJpaRepository;
+import com.nailart.infrastructure.persistence.repository.FinanceDailyRollupJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Confere finance_daily_rollups contra agendamentos e despesas e corrige os dias divergentes.
+ * A comparação é sempre dia a dia (um GROUP BY por dia em cada fonte, uma linha de rollup por dia), para que
+ * divergências que se compensam entre dias não passem despercebidas.
+ * Lê as duas fontes no mesmo snapshot (REPEATABLE READ) e aplica a correção como delta,
+ * de modo que escritas concorrentes não são perdidas.
+ */
+@Slf4j
+@Component
+public class FinanceRollupReconciler {
+
+    private static final ZoneId ZONE = ZoneId.of("America/Sao_Paulo");
+
+    private final AppointmentJpaRepository appointmentRepo;
+    private final ExpenseJpaRepository expenseRepo;
+    private final FinanceDailyRollupJpaRepository rollupRepo;
+    private final FinanceRollups rollups;
+    private final TransactionTemplate transaction;
+    private final int windowDays;
+    private final Counter mismatches;
+
+    public FinanceRollupReconciler(
+            AppointmentJpaRepository appointmentRepo,
+            ExpenseJpaRepository expenseRepo,
+            FinanceDailyRollupJpaRepository rollupRepo,
+            FinanceRollups rollups,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${nailart.finance.reconcile.window-days:120}") int windowDays
+    ) {
+        this.appointmentRepo = appointmentRepo;
+        this.expenseRepo = expenseRepo;
+        this.rollupRepo = rollupRepo;
+        this.rollups = rollups;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.windowDays = windowDays;
+        this.mismatches = Counter.builder("finance.rollup.mismatches").register(meterRegistry);
+    }
+
+    /** Diariamente, confere os dias entre hoje - window-days e hoje + window-days. */
+    @Scheduled(cron = "${nailart.finance.reconcile.cron:0 30 3 * * *}", zone = "America/Sao_Paulo")
+    public void reconcileRecent() {
+        LocalDate today = LocalDate.now(ZONE);
+        int corrected = reconcile(today.minusDays(windowDays), today.plusDays(windowDays));
+        if (corrected > 0) {
+            log.warn("Rollups financeiros corrigidos em {} dia(s)", corrected);
+        }
+    }
+
+    /** Retorna a quantidade de dias corrigidos em [start, end]. */
+    public int reconcile(LocalDate start, LocalDate end) {
+        Integer corrected = transaction.execute(status -> {
+            Map<LocalDate, FinanceRollups.Delta> expected = new HashMap<>();
+            for (var t : appointmentRepo.sumPriceByDayAndStatus(start, end)) {
+                expected.computeIfAbsent(t.getDay(), d -> new FinanceRollups.Delta())
+                        .addAppointment(t.getStatus(), t.getTotalCents());
+            }
+            for (var t : expenseRepo.sumAmountByDayAndCategory(start, end)) {
+                expected.computeIfAbsent(t.getDay(), d -> new FinanceRollups.Delta())
+                        .addExpense(t.getCategory(), t.getTotalCents());
+            }
+            for (FinanceDailyRollupEntity r : rollupRepo.findByDayBetweenOrderByDayAsc(start, end)) {
+                expected.computeIfAbsent(r.getDay(), d -> new FinanceRollups.Delta()).subtract(toDelta(r));
+            }
+            int count = 0;
+            for (var e : expected.entrySet()) {
+                if (e.getValue().isZero()) continue;
+                log.debug("Rollup de {} divergente; aplicando correção", e.getKey());
+                rollups.apply(e.getKey(), e.getValue());
+                count++;
+            }
+            return count;
+        });
+        int result = corrected == null ? 0 : corrected;
+        mismatches.increment(result);
+        return result;
+    }
+
+    private static FinanceRollups.Delta toDelta(FinanceDailyRollupEntity r) {
+        FinanceRollups.Delta d = new FinanceRollups.Delta();
+        d.revenue = r.getRevenueCents();
+        d.cancellationLoss = r.getCancellationLossCents();
+        d.noShowLoss = r.getNoShowLossCents();
+        d.fixed = r.getExpenseFixedCents();
+        d.variable = r.getExpenseVariableCents();
+        d.materials = r.getExpenseMaterialsCents();
+        d.employees = r.getExpenseEmployeesCents();
+        d.other = r.getExpenseOtherCents();
+        return d;
+    }
+}
@@ -0,0 +1,99 @@
+package com.nailart.application.finance;
+
+import com.nailart.domain.AppointmentStatus;
+import com.nailart.domain.ExpenseCategory;
+import com.nailart.infrastructure.persistence.repository.FinanceDailyRollupJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * Mantém finance_daily_rollups na mesma transação das escritas de agendamentos e despesas.
+ * Cada chamada aplica apenas a diferença, então escritas concorrentes no mesmo dia não se sobrescrevem.
+ */
+@Component
+@RequiredArgsConstructor
+public class FinanceRollups {
+
+    private final FinanceDailyRollupJpaRepository rollupRepo;
+    private final FinanceBucketCache bucketCache;
+
+    /** {@code previousStatus} nulo para agendamento novo. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appointmentStatusChanged(LocalDate day, int priceCents, String previousStatus, String newStatus) {
+        Delta delta = new Delta();
+        delta.addAppointment(previousStatus, -priceCents);
+        delta.addAppointment(newStatus, priceCents);
+        apply(day, delta);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void expenseAdded(LocalDate day, String category, int amountCents) {
+        Delta delta = new Delta();
+        delta.addExpense(category, amountCents);
+        apply(day, delta);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void expenseRemoved(LocalDate day, String category, int amountCents) {
+        Delta delta = new Delta();
+        delta.addExpense(category, -amountCents);
+        apply(day, delta);
+    }
+
+    void apply(LocalDate day, Delta d) {
+        if (d.isZero()) return;
+        rollupRepo.addDelta(day, d.revenue, d.cancellationLoss, d.noShowLoss,
+                d.fixed, d.variable, d.materials, d.employees, d.other);
+        bucketCache.evictDayAfterCommit(day);
+    }
+
+    static final class Delta {
+        long revenue;
+        long cancellationLoss;
+        long noShowLoss;
+        long fixed;
+        long variable;
+        long materials;
+        long employees;
+        long other;
+
+        void addAppointment(String status, long cents) {
+            if (status == null) return;
+            switch (AppointmentStatus.valueOf(status)) {
+                case CONFIRMED -> revenue += cents;
+                case CANCELLED -> cancellationLoss += cents;
+                case NO_SHOW -> noShowLoss += cents;
+            }
+        }
+
+        void addExpense(String category, long cents) {
+            switch (ExpenseCategory.valueOf(category)) {
+                case FIXED -> fixed += cents;
+                case VARIABLE -> variable += cents;
+                case MATERIALS -> materials += cents;
+                case EMPLOYEES -> employees += cents;
+                case OTHER -> other += cents;
+            }
+        }
+
+        void subtract(Delta o) {
+            revenue -= o.revenue;
+            cancellationLoss -= o.cancellationLoss;
+            noShowLoss -= o.noShowLoss;
+            fixed -= o.fixed;
+            variable -= o.variable;
+            materials -= o.materials;
+            employees -= o.employees;
+            other -= o.other;
+        }
+
+        boolean isZero() {
+            return revenue == 0 && cancellationLoss == 0 && noShowLoss == 0
+                    && fixed == 0 && variable == 0 && materials == 0 && employees == 0 && other == 0;
+        }
+    }
+}
@@ -1,67 +1,135 @@
 package com.nailart.application.finance;
 
-import com.nailart.domain.AppointmentStatus;
-import com.nailart.domain.ExpenseCategory;
-import com.nailart.infrastructure.persistence.entity.AppointmentEntity;
+import com.nailart.domain.FinanceGranularity;
 import com.nailart.infrastructure.persistence.entity.ExpenseEntity;
-import com.nailart.infrastructure.persistence.repository.AppointmentJpaRepository;
+import com.nailart.infrastructure.persistence.entity.FinanceDailyRollupEntity;
 import com.nailart.infrastructure.persistence.repository.ExpenseJpaRepository;
-import lombok.RequiredArgsConstructor;
+import com.nailart.infrastructure.persistence.repository.FinanceDailyRollupJpaRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.UUID;
 
 @Service
-@RequiredArgsConstructor
 public class FinanceService {
 
-    private final AppointmentJpaRepository appointmentRepo;
+    private static final ZoneId ZONE = ZoneId.of("America/Sao_Paulo");
+    private static final int MAX_SERIES_BUCKETS = 400;
+
     private final ExpenseJpaRepository expenseRepo;
+    private final FinanceDailyRollupJpaRepository rollupRepo;
+    private final FinanceRollups rollups;
+    private final FinanceBucketCache bucketCache;
+    private final Timer dashboardTimer;
+    private final DistributionSummary dashboardPeriodDays;
+
+    public FinanceService(
+            ExpenseJpaRepository expenseRepo,
+            FinanceDailyRollupJpaRepository rollupRepo,
+            FinanceRollups rollups,
+            FinanceBucketCache bucketCache,
+            MeterRegistry meterRegistry
+    ) {
+        this.expenseRepo = expenseRepo;
+        this.rollupRepo = rollupRepo;
+        this.rollups = rollups;
+        this.bucketCache = bucketCache;
+        this.dashboardTimer = Timer.builder("finance.dashboard")
+                .description("Tempo de montagem do dashboard financeiro")
+                .register(meterRegistry);
+        this.dashboardPeriodDays = DistributionSummary.builder("finance.dashboard.period.days")
+                .description("Dias do período consultado no dashboard")
+                .register(meterRegistry);
+    }
 
+    /**
+     * Soma os rollups diários do período (no máximo uma linha por dia) em vez de carregar agendamentos e despesas.
+     */
     @Transactional(readOnly = true)
     public FinanceDashboard getDashboard(LocalDate start, LocalDate end) {
-        List<AppointmentEntity> allInPeriod = appointmentRepo
-                .findByAppointmentDateBetweenOrderByAppointmentDateAscStartTimeAsc(start, end);
-
-        List<AppointmentEntity> confirmed = allInPeriod.stream()
-                .filter(a -> AppointmentStatus.CONFIRMED.name().equals(a.getStatus()))
-                .toList();
-        long receitaEstimada = confirmed.stream().mapToLong(AppointmentEntity::getPriceCents).sum();
-        long perdasCancelamentos = allInPeriod.stream()
-                .filter(a -> AppointmentStatus.CANCELLED.name().equals(a.getStatus()))
-                .mapToLong(AppointmentEntity::getPriceCents)
-                .sum();
-        long perdasNoShow = allInPeriod.stream()
-                .filter(a -> AppointmentStatus.NO_SHOW.name().equals(a.getStatus()))
-                .mapToLong(AppointmentEntity::getPriceCents)
-                .sum();
-
-        List<ExpenseEntity> expenses = expenseRepo.findByExpenseDateBetweenOrderByExpenseDateAsc(start, end);
-        long gastosFixos = sumByCategory(expenses, ExpenseCategory.FIXED);
-        long gastosVariaveis = sumByCategory(expenses, ExpenseCategory.VARIABLE);
-        long gastosMateriais = sumByCategory(expenses, ExpenseCategory.MATERIALS);
-        long gastosFuncionarios = sumByCategory(expenses, ExpenseCategory.EMPLOYEES);
-        long outros = sumByCategory(expenses, ExpenseCategory.OTHER);
-        long totalDespesas = gastosFixos + gastosVariaveis + gastosMateriais + gastosFuncionarios + outros;
-
-        long lucro = receitaEstimada - perdasCancelamentos - perdasNoShow - totalDespesas;
-
-        return new FinanceDashboard(
-                receitaEstimada,
-                perdasCancelamentos,
-                perdasNoShow,
-                gastosFixos,
-                gastosVariaveis,
-                gastosMateriais,
-                gastosFuncionarios,
-                outros,
-                totalDespesas,
-                lucro
+        Timer.Sample sample = Timer.start();
+        dashboardPeriodDays.record(ChronoUnit.DAYS.between(start, end) + 1);
+        var totals = rollupRepo.sumBetween(start, end);
+        FinanceDashboard dashboard = FinanceDashboard.of(
+                totals.getRevenueCents(),
+                totals.getCancellationLossCents(),
+                totals.getNoShowLossCents(),
+                totals.getExpenseFixedCents(),
+                totals.getExpenseVariableCents(),
+                totals.getExpenseMaterialsCents(),
+                totals.getExpenseEmployeesCents(),
+                totals.getExpenseOtherCents()
         );
+        sample.stop(dashboardTimer);
+        return dashboard;
+    }
+
+    /**
+     * Totais por bucket (dia, semana ou mês) entre start e end. Buckets nas bordas são recortados ao período.
+     * Buckets encerrados e completos vêm do {@link FinanceBucketCache}; os demais saem de uma única leitura
+     * dos rollups do intervalo que faltou, agrupados em uma passada.
+     */
+    @Transactional(readOnly = true)
+    public List<FinanceBucket> getSeries(LocalDate start, LocalDate end, FinanceGranularity granularity) {
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("Data final deve ser igual ou posterior à inicial");
+        }
+        List<FinanceBucket> result = new ArrayList<>();
+        List<Integer> missing = new ArrayList<>();
+        LocalDate today = LocalDate.now(ZONE);
+        for (LocalDate b = granularity.bucketStart(start); !b.isAfter(end); b = granularity.bucketEnd(b).plusDays(1)) {
+            if (result.size() == MAX_SERIES_BUCKETS) {
+                throw new IllegalArgumentException("Máximo de " + MAX_SERIES_BUCKETS + " buckets por série");
+            }
+            LocalDate from = b.isBefore(start) ? start : b;
+            LocalDate bucketEnd = granularity.bucketEnd(b);
+            LocalDate to = bucketEnd.isAfter(end) ? end : bucketEnd;
+            FinanceDashboard cached = isClosedFullBucket(granularity, from, to, today) ? bucketCache.get(granularity, from) : null;
+            result.add(new FinanceBucket(from, to, cached));
+            if (cached == null) missing.add(result.size() - 1);
+        }
+        if (missing.isEmpty()) return result;
+
+        LocalDate loadFrom = result.get(missing.get(0)).start();
+        LocalDate loadTo = result.get(missing.get(missing.size() - 1)).end();
+        long epoch = bucketCache.epoch();
+        List<FinanceDailyRollupEntity> rows = rollupRepo.findByDayBetweenOrderByDayAsc(loadFrom, loadTo);
+        int row = 0;
+        for (int index : missing) {
+            FinanceBucket bucket = result.get(index);
+            while (row < rows.size() && rows.get(row).getDay().isBefore(bucket.start())) row++;
+            long[] sum = new long[8];
+            for (; row < rows.size() && !rows.get(row).getDay().isAfter(bucket.end()); row++) {
+                FinanceDailyRollupEntity r = rows.get(row);
+                sum[0] += r.getRevenueCents();
+                sum[1] += r.getCancellationLossCents();
+                sum[2] += r.getNoShowLossCents();
+                sum[3] += r.getExpenseFixedCents();
+                sum[4] += r.getExpenseVariableCents();
+                sum[5] += r.getExpenseMaterialsCents();
+                sum[6] += r.getExpenseEmployeesCents();
+                sum[7] += r.getExpenseOtherCents();
+            }
+            FinanceDashboard totals = FinanceDashboard.of(sum[0], sum[1], sum[2], sum[3], sum[4], sum[5], sum[6], sum[7]);
+            result.set(index, new FinanceBucket(bucket.start(), bucket.end(), totals));
+            if (isClosedFullBucket(granularity, bucket.start(), bucket.end(), today)) {
+                bucketCache.put(granularity, bucket.start(), totals, epoch);
+            }
+        }
+        return result;
+    }
+
+    private static boolean isClosedFullBucket(FinanceGranularity granularity, LocalDate from, LocalDate to, LocalDate today) {
+        return to.isBefore(today) && granularity.bucketStart(from).equals(from) && granularity.bucketEnd(from).equals(to);
     }
 
     @Transactional(readOnly = true)
@@ -77,31 +145,33 @@ public class FinanceService {
                 .expenseDate(expenseDate)
                 .description(description)
                 .build();
-        return expenseRepo.save(e);
+        ExpenseEntity saved = expenseRepo.save(e);
+        rollups.expenseAdded(expenseDate, category, amountCents);
+        return saved;
     }
 
     @Transactional
     public ExpenseEntity updateExpense(UUID id, String category, Integer amountCents,
                                        LocalDate expenseDate, String description) {
         ExpenseEntity e = expenseRepo.findById(id).orElseThrow(() -> new NoSuchElementException("Despesa não encontrada"));
+        rollups.expenseRemoved(e.getExpenseDate(), e.getCategory(), e.getAmountCents());
         if (category != null) e.setCategory(category);
         if (amountCents != null) e.setAmountCents(amountCents);
         if (expenseDate != null) e.setExpenseDate(expenseDate);
         if (description != null) e.setDescription(description);
+        rollups.expenseAdded(e.getExpenseDate(), e.getCategory(), e.getAmountCents());
         return expenseRepo.save(e);
     }
 
     @Transactional
     public void deleteExpense(UUID id) {
-        expenseRepo.deleteById(id);
+        expenseRepo.findById(id).ifPresent(e -> {
+            rollups.expenseRemoved(e.getExpenseDate(), e.getCategory(), e.getAmountCents());
+            expenseRepo.delete(e);
+        });
     }
 
-    private static long sumByCategory(List<ExpenseEntity> expenses, ExpenseCategory cat) {
-        return expenses.stream()
-                .filter(e -> cat.name().equals(e.getCategory()))
-                .mapToLong(ExpenseEntity::getAmountCents)
-                .sum();
-    }
+    public record FinanceBucket(LocalDate start, LocalDate end, FinanceDashboard totals) {}
 
     public record FinanceDashboard(
             long receitaEstimada,
@@ -114,5 +184,14 @@ public class FinanceService {
             long outros,
             long totalDespesas,
             long lucro
-    ) {}
+    ) {
+        static FinanceDashboard of(long receitaEstimada, long perdasCancelamentos, long perdasNoShow,
+                                   long gastosFixos, long gastosVariaveis, long gastosMateriais,
+                                   long gastosFuncionarios, long outros) {
+            long totalDespesas = gastosFixos + gastosVariaveis + gastosMateriais + gastosFuncionarios + outros;
+            long lucro = receitaEstimada - perdasCancelamentos - perdasNoShow - totalDespesas;
+            return new FinanceDashboard(receitaEstimada, perdasCancelamentos, perdasNoShow, gastosFixos,
+                    gastosVariaveis, gastosMateriais, gastosFuncionarios, outros, totalDespesas, lucro);
+        }
+    }
 }
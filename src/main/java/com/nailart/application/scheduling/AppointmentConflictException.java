@@ -0,0 +1,12 @@
+package com.nailart.application.scheduling;
+
+/**
+ * Horário já ocupado por outro agendamento confirmado do mesmo funcionário
+ * (violação da constraint appointments_employee_no_overlap).
+ */
+public class AppointmentConflictException extends IllegalStateException {
+
+    public AppointmentConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
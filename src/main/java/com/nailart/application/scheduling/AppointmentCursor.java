@@ -0,0 +1,38 @@
+package com.nailart.application.scheduling;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posição de paginação por chave (appointment_date, start_time, id): a próxima página começa
+ * depois deste agendamento, sem OFFSET.
+ */
+public record AppointmentCursor(LocalDate date, LocalTime startTime, UUID id) {
+
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+
+    /** Posição anterior a todos os agendamentos a partir de {@code from}. */
+    public static AppointmentCursor before(LocalDate from) {
+        return new AppointmentCursor(from.minusDays(1), LocalTime.MIN, MIN_ID);
+    }
+
+    public String encode() {
+        String raw = date + "|" + startTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static AppointmentCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3) throw new IllegalArgumentException("Cursor inválido");
+            return new AppointmentCursor(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.nailart.application.scheduling;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A agenda do funcionário no dia mudou (agendamento criado, cancelado, substituído ou bloqueio).
+ * Publicado dentro da transação; ouvintes devem usar {@code @TransactionalEventListener}.
+ */
+public record AvailabilityChangedEvent(UUID employeeId, LocalDate date) {
+}
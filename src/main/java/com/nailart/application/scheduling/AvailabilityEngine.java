@@ -0,0 +1,181 @@
+package com.nailart.application.scheduling;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nailart.application.support.TransactionCallbacks;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mantém, por funcionário/dia, o bitmap de minutos livres (disponibilidade - bloqueios - agendamentos confirmados).
+ * Escritas atualizam ou invalidam o dia apenas após o commit da transação.
+ */
+@Component
+public class AvailabilityEngine {
+
+    private final StudioCalendarCache calendar;
+    private final DayScheduleLoader loader;
+    private final SchedulingMetrics metrics;
+    private final Cache<DayKey, DayBitmap> days;
+    // Incrementado a cada escrita; impede que uma carga concorrente publique um dia desatualizado.
+    private final AtomicLong writeEpoch = new AtomicLong();
+
+    public AvailabilityEngine(
+            StudioCalendarCache calendar,
+            DayScheduleLoader loader,
+            SchedulingMetrics metrics,
+            MeterRegistry meterRegistry,
+            @Value("${nailart.availability.cache.max-days:20000}") long maxDays,
+            @Value("${nailart.availability.cache.ttl:10m}") Duration ttl
+    ) {
+        this.calendar = calendar;
+        this.loader = loader;
+        this.metrics = metrics;
+        this.days = Caffeine.newBuilder()
+                .maximumSize(maxDays)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, days, "availability.days");
+    }
+
+    public DayBitmap freeMinutes(UUID employeeId, LocalDate date) {
+        DayBitmap cached = days.getIfPresent(new DayKey(employeeId, date));
+        if (cached != null) return cached;
+        return freeMinutes(employeeId, date, date).get(date);
+    }
+
+    /**
+     * Bitmaps de todos os dias em [from, to]. Se algum dia não estiver em cache, o intervalo inteiro
+     * é carregado com uma consulta por tabela.
+     */
+    public Map<LocalDate, DayBitmap> freeMinutes(UUID employeeId, LocalDate from, LocalDate to) {
+        Map<LocalDate, DayBitmap> result = new LinkedHashMap<>();
+        boolean complete = true;
+        for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+            DayBitmap cached = days.getIfPresent(new DayKey(employeeId, d));
+            if (cached == null) {
+                complete = false;
+                break;
+            }
+            result.put(d, cached);
+        }
+        if (complete) return result;
+
+        long epoch = writeEpoch.get();
+        Map<LocalDate, DayBitmap> loaded = load(employeeId, from, to);
+        loaded.forEach((d, bitmap) -> publish(new DayKey(employeeId, d), bitmap, epoch));
+        return loaded;
+    }
+
+    /**
+     * Bitmaps de um dia para vários funcionários. Os que faltam no cache são carregados juntos,
+     * com uma consulta IN por tabela.
+     */
+    public Map<UUID, DayBitmap> freeMinutes(Collection<UUID> employeeIds, LocalDate date) {
+        Map<UUID, DayBitmap> result = new LinkedHashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : employeeIds) {
+            DayBitmap cached = days.getIfPresent(new DayKey(id, date));
+            if (cached != null) {
+                result.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (missing.isEmpty()) return result;
+
+        long epoch = writeEpoch.get();
+        Map<UUID, DayBitmap> loaded = load(missing, date);
+        loaded.forEach((id, bitmap) -> publish(new DayKey(id, date), bitmap, epoch));
+        result.putAll(loaded);
+        return result;
+    }
+
+    /**
+     * Mesma regra de {@link AvailabilityService#getAvailableSlots}: início alinhado ao slot e
+     * serviço + buffer inteiramente livres.
+     */
+    public boolean fitsSlot(UUID employeeId, LocalDate date, LocalTime start, int durationMinutes) {
+        var settings = calendar.settings();
+        int from = DayBitmap.minuteOf(start);
+        if (start.getSecond() != 0 || from % settings.slotMinutes() != 0) return false;
+        return freeMinutes(employeeId, date).isFree(from, from + durationMinutes + settings.bufferMinutes());
+    }
+
+    public void markBusy(UUID employeeId, LocalDate date, LocalTime start, LocalTime end) {
+        DayKey key = new DayKey(employeeId, date);
+        int from = DayBitmap.minuteOf(start);
+        int to = DayBitmap.minuteOf(end);
+        TransactionCallbacks.afterCommit(() -> {
+            writeEpoch.incrementAndGet();
+            days.asMap().computeIfPresent(key, (k, bitmap) -> bitmap.withCleared(from, to));
+        });
+    }
+
+    public void invalidate(UUID employeeId, LocalDate date) {
+        DayKey key = new DayKey(employeeId, date);
+        TransactionCallbacks.afterCommit(() -> {
+            writeEpoch.incrementAndGet();
+            days.invalidate(key);
+        });
+    }
+
+    public void invalidateEmployee(UUID employeeId) {
+        TransactionCallbacks.afterCommit(() -> {
+            writeEpoch.incrementAndGet();
+            calendar.invalidateWeeklyTemplate(employeeId);
+            days.asMap().keySet().removeIf(k -> k.employeeId().equals(employeeId));
+        });
+    }
+
+    /**
+     * Guarda o dia só se nenhuma escrita aconteceu desde {@code epoch}. A checagem roda dentro do compute da chave:
+     * uma invalidação concorrente ou incrementa o epoch antes (e o dia carregado é descartado) ou espera a chave
+     * e remove o valor publicado.
+     */
+    private void publish(DayKey key, DayBitmap bitmap, long epoch) {
+        days.asMap().compute(key, (k, previous) -> writeEpoch.get() == epoch ? bitmap : previous);
+    }
+
+    private Map<LocalDate, DayBitmap> load(UUID employeeId, LocalDate from, LocalDate to) {
+        Map<LocalDate, DayBitmap> result = new LinkedHashMap<>();
+        loader.load(employeeId, from, to).forEach((d, ctx) -> {
+            DayBitmap bitmap = ctx.toBitmap();
+            metrics.dayLoaded(ctx, bitmap);
+            result.put(d, bitmap);
+        });
+        return result;
+    }
+
+    private Map<UUID, DayBitmap> load(List<UUID> employeeIds, LocalDate date) {
+        Map<UUID, DayBitmap> result = new LinkedHashMap<>();
+        loader.load(employeeIds, date).forEach((id, ctx) -> {
+            DayBitmap bitmap = ctx.toBitmap();
+            metrics.dayLoaded(ctx, bitmap);
+            result.put(id, bitmap);
+        });
+        return result;
+    }
+
+    // DB: 1=domingo, 7=sábado. Java DayOfWeek: MONDAY=1, SUNDAY=7
+    static int toDbDayOfWeek(LocalDate date) {
+        int javaDay = date.getDayOfWeek().getValue();
+        return javaDay == 7 ? 1 : javaDay + 1;
+    }
+
+    private record DayKey(UUID employeeId, LocalDate date) {}
+}
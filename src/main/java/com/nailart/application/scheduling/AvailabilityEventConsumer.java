@@ -0,0 +1,51 @@
+package com.nailart.application.scheduling;
+
+import com.nailart.application.events.AppointmentEvent;
+import com.nailart.application.events.AppointmentEventConsumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Invalida o bitmap em cache e avisa os streams de disponibilidade para cada funcionário/dia tocado pelos eventos.
+ * Só roda na instância com o relay habilitado, e o relay marca cada evento como publicado para todas: nessa
+ * instância cobre também mudanças gravadas pelas outras (para as locais o trabalho é repetido, o que é inofensivo).
+ * As demais instâncias não recebem essas invalidações e só enxergam mudanças alheias após
+ * {@code nailart.availability.cache.ttl}; a reserva continua segura porque {@code book} confere a agenda no banco
+ * e a constraint de exclusão barra sobreposições.
+ */
+@Component
+@RequiredArgsConstructor
+public class AvailabilityEventConsumer implements AppointmentEventConsumer {
+
+    private final AvailabilityEngine availabilityEngine;
+    private final ApplicationEventPublisher events;
+
+    @Override
+    public String name() {
+        return "availability";
+    }
+
+    @Override
+    public void onEvents(List<AppointmentEvent> batch) {
+        Set<EmployeeDay> touched = new LinkedHashSet<>();
+        for (AppointmentEvent e : batch) {
+            touched.add(new EmployeeDay(e.employeeId(), e.appointmentDate()));
+            if (e.previousEmployeeId() != null) {
+                touched.add(new EmployeeDay(e.previousEmployeeId(), e.appointmentDate()));
+            }
+        }
+        for (EmployeeDay day : touched) {
+            availabilityEngine.invalidate(day.employeeId(), day.date());
+            events.publishEvent(new AvailabilityChangedEvent(day.employeeId(), day.date()));
+        }
+    }
+
+    private record EmployeeDay(UUID employeeId, LocalDate date) {}
+}
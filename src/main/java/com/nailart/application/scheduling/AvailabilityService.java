@@ -2,136 +2,168 @@ package com.nailart.application.scheduling;
 
 import com.nailart.infrastructure.persistence.entity.*;
 import com.nailart.infrastructure.persistence.repository.*;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class AvailabilityService {
 
-    private static final int DEFAULT_SLOT_MINUTES = 15;
-    private static final int DEFAULT_BUFFER_MINUTES = 10;
+    private static final int MAX_RANGE_DAYS = 62;
 
     private final EmployeeJpaRepository employeeRepo;
     private final ServiceJpaRepository serviceRepo;
-    private final EmployeeAvailabilityJpaRepository availabilityRepo;
-    private final EmployeeBlockJpaRepository blockRepo;
-    private final HolidayJpaRepository holidayRepo;
+    private final StudioCalendarCache calendar;
     private final AppointmentJpaRepository appointmentRepo;
-    private final StudioSettingsJpaRepository settingsRepo;
+    private final AvailabilityEngine availabilityEngine;
+    private final SlotHoldRegistry slotHolds;
+    private final SchedulingMetrics metrics;
 
     @Transactional(readOnly = true)
     public List<LocalTime> getAvailableSlots(UUID employeeId, UUID serviceId, LocalDate date) {
+        Timer.Sample sample = Timer.start();
         var employee = employeeRepo.findById(employeeId).orElseThrow(() -> new NoSuchElementException("Funcionário não encontrado"));
         var service = serviceRepo.findById(serviceId).orElseThrow(() -> new NoSuchElementException("Serviço não encontrado"));
-        if (!Boolean.TRUE.equals(employee.getActive()) || !Boolean.TRUE.equals(service.getActive())) {
-            return List.of();
-        }
-        if (!employee.getServices().stream().anyMatch(s -> s.getId().equals(serviceId))) {
+        if (!canBook(employee, service)) {
             return List.of();
         }
+        SlotRules rules = slotRules(service);
+        DayBitmap free = slotHolds.withoutHolds(employeeId, date, availabilityEngine.freeMinutes(employeeId, date));
+        List<LocalTime> slots = toSlots(free, rules, new int[rules.bufferSize()]);
+        metrics.querySlots(sample, SchedulingMetrics.Query.EMPLOYEE, slots.size());
+        return slots;
+    }
 
-        // DB: 1=domingo, 7=sábado. Java DayOfWeek: MONDAY=1, SUNDAY=7 -> map to 2=seg..7=dom->1
-        int javaDay = date.getDayOfWeek().getValue();
-        int dayOfWeek = javaDay == 7 ? 1 : javaDay + 1;
-        var settingsOpt = settingsRepo.findFirstByOrderByCreatedAtAsc();
-        int bufferMinutes = settingsOpt
-                .map(StudioSettingsEntity::getBufferMinutes)
-                .orElse(DEFAULT_BUFFER_MINUTES);
-        int slotMinutes = settingsOpt
-                .map(StudioSettingsEntity::getSlotMinutes)
-                .orElse(DEFAULT_SLOT_MINUTES);
-        int blockMinutes = service.getDurationMax() + bufferMinutes;
-        int durationMin = service.getDurationMin();
+    /**
+     * Slots de cada dia em [from, to], carregando o intervalo de uma vez. Dias sem horário livre são omitidos.
+     */
+    @Transactional(readOnly = true)
+    public Map<LocalDate, List<LocalTime>> getAvailableSlots(UUID employeeId, UUID serviceId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Data final deve ser igual ou posterior à inicial");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Intervalo máximo de " + MAX_RANGE_DAYS + " dias");
+        }
+        Timer.Sample sample = Timer.start();
+        var employee = employeeRepo.findById(employeeId).orElseThrow(() -> new NoSuchElementException("Funcionário não encontrado"));
+        var service = serviceRepo.findById(serviceId).orElseThrow(() -> new NoSuchElementException("Serviço não encontrado"));
+        if (!canBook(employee, service)) {
+            return Map.of();
+        }
+        SlotRules rules = slotRules(service);
+        int[] buffer = new int[rules.bufferSize()];
+        Map<LocalDate, List<LocalTime>> result = new LinkedHashMap<>();
+        int[] total = {0};
+        availabilityEngine.freeMinutes(employeeId, from, to).forEach((date, cached) -> {
+            DayBitmap free = slotHolds.withoutHolds(employeeId, date, cached);
+            List<LocalTime> slots = toSlots(free, rules, buffer);
+            total[0] += slots.size();
+            if (!slots.isEmpty()) result.put(date, slots);
+        });
+        metrics.querySlots(sample, SchedulingMetrics.Query.RANGE, total[0]);
+        return result;
+    }
 
-        if (holidayRepo.findByHolidayDate(date).isPresent()) {
+    /**
+     * União dos slots livres de todos os funcionários ativos que atendem o serviço ("qualquer profissional").
+     */
+    @Transactional(readOnly = true)
+    public List<LocalTime> getAvailableSlotsForService(UUID serviceId, LocalDate date) {
+        Timer.Sample sample = Timer.start();
+        var service = serviceRepo.findById(serviceId).orElseThrow(() -> new NoSuchElementException("Serviço não encontrado"));
+        if (!Boolean.TRUE.equals(service.getActive())) {
             return List.of();
         }
-
-        List<TimeWindow> windows = getWindowsForDay(employeeId, date, dayOfWeek);
-        if (windows.isEmpty()) return List.of();
-
-        List<OccupiedSlot> occupied = getOccupiedSlots(employeeId, date);
-
-        List<LocalTime> slots = new ArrayList<>();
-        for (TimeWindow w : windows) {
-            LocalTime slotStart = roundToSlot(w.start, slotMinutes);
-            while (slotStart.plusMinutes(blockMinutes).compareTo(w.end) <= 0) {
-                LocalTime slotEnd = slotStart.plusMinutes(blockMinutes);
-                if (!slotEnd.isAfter(w.end) && !overlapsAny(slotStart, slotEnd, occupied)) {
-                    slots.add(slotStart);
-                }
-                slotStart = slotStart.plusMinutes(slotMinutes);
+        List<UUID> employeeIds = employeeRepo.findActiveByServiceId(serviceId).stream().map(EmployeeEntity::getId).toList();
+        if (employeeIds.isEmpty()) {
+            return List.of();
+        }
+        SlotRules rules = slotRules(service);
+        int[] buffer = new int[rules.bufferSize()];
+        boolean[] union = new boolean[DayBitmap.MINUTES_PER_DAY];
+        for (var entry : availabilityEngine.freeMinutes(employeeIds, date).entrySet()) {
+            DayBitmap free = slotHolds.withoutHolds(entry.getKey(), date, entry.getValue());
+            int count = free.slotStarts(rules.slotMinutes(), rules.blockMinutes(), buffer);
+            for (int i = 0; i < count; i++) {
+                union[buffer[i]] = true;
             }
         }
-        return slots.stream().distinct().sorted().toList();
-    }
-
-    private List<TimeWindow> getWindowsForDay(UUID employeeId, LocalDate date, int dayOfWeek) {
-        List<EmployeeAvailabilityEntity> avail = availabilityRepo.findByEmployeeIdOrderByDayOfWeekAscStartTimeAsc(employeeId);
-        List<TimeWindow> fromAvailability = avail.stream()
-                .filter(a -> a.getDayOfWeek().equals(dayOfWeek))
-                .map(a -> new TimeWindow(a.getStartTime(), a.getEndTime()))
-                .collect(Collectors.toList());
-        List<EmployeeBlockEntity> blocks = blockRepo.findByEmployeeIdAndBlockDate(employeeId, date);
-        if (blocks.isEmpty()) return fromAvailability;
-        return subtractBlocks(fromAvailability, blocks);
+        List<LocalTime> slots = new ArrayList<>();
+        for (int m = 0; m < union.length; m += rules.slotMinutes()) {
+            if (union[m]) slots.add(LocalTime.of(m / 60, m % 60));
+        }
+        metrics.querySlots(sample, SchedulingMetrics.Query.ANY, slots.size());
+        return slots;
     }
 
-    private List<TimeWindow> subtractBlocks(List<TimeWindow> windows, List<EmployeeBlockEntity> blocks) {
-        List<TimeWindow> result = new ArrayList<>(windows);
-        for (EmployeeBlockEntity b : blocks) {
-            List<TimeWindow> next = new ArrayList<>();
-            for (TimeWindow w : result) {
-                if (b.getEndTime().compareTo(w.start) <= 0 || b.getStartTime().compareTo(w.end) >= 0) {
-                    next.add(w);
-                } else {
-                    if (w.start.compareTo(b.getStartTime()) < 0) {
-                        next.add(new TimeWindow(w.start, b.getStartTime()));
-                    }
-                    if (b.getEndTime().compareTo(w.end) < 0) {
-                        next.add(new TimeWindow(b.getEndTime(), w.end));
-                    }
-                }
-            }
-            result = next;
+    /**
+     * Entre os funcionários livres no horário, sem reserva temporária e fora de {@code excluded},
+     * escolhe o com menos minutos confirmados no dia.
+     */
+    @Transactional(readOnly = true)
+    public Optional<UUID> pickLeastLoadedEmployee(UUID serviceId, LocalDate date, LocalTime startTime, Set<UUID> excluded) {
+        var service = serviceRepo.findById(serviceId).orElseThrow(() -> new NoSuchElementException("Serviço não encontrado"));
+        if (!Boolean.TRUE.equals(service.getActive())) {
+            return Optional.empty();
         }
-        return result;
+        SlotRules rules = slotRules(service);
+        int start = DayBitmap.minuteOf(startTime);
+        if (startTime.getSecond() != 0 || start % rules.slotMinutes() != 0) {
+            return Optional.empty();
+        }
+        List<UUID> employeeIds = employeeRepo.findActiveByServiceId(serviceId).stream()
+                .map(EmployeeEntity::getId)
+                .filter(id -> !excluded.contains(id))
+                .toList();
+        if (employeeIds.isEmpty()) {
+            return Optional.empty();
+        }
+        List<UUID> candidates = new ArrayList<>();
+        availabilityEngine.freeMinutes(employeeIds, date).forEach((id, free) -> {
+            if (slotHolds.withoutHolds(id, date, free).isFree(start, start + rules.blockMinutes())) candidates.add(id);
+        });
+        if (candidates.size() <= 1) {
+            return candidates.stream().findFirst();
+        }
+        Map<UUID, Long> load = new HashMap<>();
+        for (var l : appointmentRepo.sumConfirmedMinutesByEmployee(candidates, date)) {
+            load.put(l.getEmployeeId(), l.getBookedMinutes());
+        }
+        return candidates.stream().min(Comparator.comparingLong(id -> load.getOrDefault(id, 0L)));
     }
 
-    private List<OccupiedSlot> getOccupiedSlots(UUID employeeId, LocalDate date) {
-        List<AppointmentEntity> confirmed = appointmentRepo.findConfirmedByEmployeeAndDate(employeeId, date);
-        List<OccupiedSlot> occupied = confirmed.stream()
-                .map(a -> new OccupiedSlot(a.getStartTime(), a.getEndTime()))
-                .toList();
-        List<EmployeeBlockEntity> blocks = blockRepo.findByEmployeeIdAndBlockDate(employeeId, date);
-        for (EmployeeBlockEntity b : blocks) {
-            occupied = new ArrayList<>(occupied);
-            occupied.add(new OccupiedSlot(b.getStartTime(), b.getEndTime()));
+    private static boolean canBook(EmployeeEntity employee, ServiceEntity service) {
+        if (!Boolean.TRUE.equals(employee.getActive()) || !Boolean.TRUE.equals(service.getActive())) {
+            return false;
         }
-        return occupied;
+        return employee.getServices().stream().anyMatch(s -> s.getId().equals(service.getId()));
     }
 
-    private static LocalTime roundToSlot(LocalTime t, int slotMinutes) {
-        int min = t.getHour() * 60 + t.getMinute();
-        int remainder = min % slotMinutes;
-        int rounded = remainder == 0 ? min : ((min / slotMinutes) + 1) * slotMinutes;
-        return LocalTime.of(rounded / 60, rounded % 60);
+    private SlotRules slotRules(ServiceEntity service) {
+        var settings = calendar.settings();
+        return new SlotRules(settings.slotMinutes(), service.getDurationMax() + settings.bufferMinutes());
     }
 
-    private static boolean overlapsAny(LocalTime start, LocalTime end, List<OccupiedSlot> occupied) {
-        for (OccupiedSlot o : occupied) {
-            if (start.compareTo(o.end) < 0 && o.start.compareTo(end) < 0) return true;
+    private static List<LocalTime> toSlots(DayBitmap free, SlotRules rules, int[] buffer) {
+        int count = free.slotStarts(rules.slotMinutes(), rules.blockMinutes(), buffer);
+        List<LocalTime> slots = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            slots.add(LocalTime.of(buffer[i] / 60, buffer[i] % 60));
         }
-        return false;
+        return slots;
     }
 
-    private record TimeWindow(LocalTime start, LocalTime end) {}
-    private record OccupiedSlot(LocalTime start, LocalTime end) {}
+    private record SlotRules(int slotMinutes, int blockMinutes) {
+        int bufferSize() {
+            return DayBitmap.MINUTES_PER_DAY / slotMinutes + 1;
+        }
+    }
 }
@@ -0,0 +1,11 @@
+package com.nailart.application.scheduling;
+
+/**
+ * Cliente bloqueado pelo estúdio tentando reservar ou agendar horário.
+ */
+public class ClientBlockedException extends IllegalStateException {
+
+    public ClientBlockedException() {
+        super("Cliente bloqueado");
+    }
+}
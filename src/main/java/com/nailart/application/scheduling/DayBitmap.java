@@ -0,0 +1,157 @@
+package com.nailart.application.scheduling;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+
+/**
+ * Bitset de um dia com resolução de minuto: bit ligado = minuto livre.
+ * Instâncias publicadas no cache não são alteradas; mutações geram cópias (ver {@link #withCleared}).
+ */
+public final class DayBitmap {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int WORDS = (MINUTES_PER_DAY + 63) >>> 6;
+    private static final long WORD_MASK = -1L;
+
+    private final long[] words;
+
+    public DayBitmap() {
+        this.words = new long[WORDS];
+    }
+
+    private DayBitmap(long[] words) {
+        this.words = words;
+    }
+
+    public static int minuteOf(LocalTime t) {
+        return t.getHour() * 60 + t.getMinute();
+    }
+
+    public void set(int from, int to) {
+        from = Math.max(from, 0);
+        to = Math.min(to, MINUTES_PER_DAY);
+        if (from >= to) return;
+        int fw = from >>> 6;
+        int lw = (to - 1) >>> 6;
+        long firstMask = WORD_MASK << from;
+        long lastMask = WORD_MASK >>> -to;
+        if (fw == lw) {
+            words[fw] |= firstMask & lastMask;
+            return;
+        }
+        words[fw] |= firstMask;
+        for (int i = fw + 1; i < lw; i++) words[i] = WORD_MASK;
+        words[lw] |= lastMask;
+    }
+
+    public void clear(int from, int to) {
+        from = Math.max(from, 0);
+        to = Math.min(to, MINUTES_PER_DAY);
+        if (from >= to) return;
+        int fw = from >>> 6;
+        int lw = (to - 1) >>> 6;
+        long firstMask = WORD_MASK << from;
+        long lastMask = WORD_MASK >>> -to;
+        if (fw == lw) {
+            words[fw] &= ~(firstMask & lastMask);
+            return;
+        }
+        words[fw] &= ~firstMask;
+        for (int i = fw + 1; i < lw; i++) words[i] = 0L;
+        words[lw] &= ~lastMask;
+    }
+
+    /** true se todos os minutos de [from, to) estão livres. */
+    public boolean isFree(int from, int to) {
+        if (from < 0 || to > MINUTES_PER_DAY || from >= to) return false;
+        int fw = from >>> 6;
+        int lw = (to - 1) >>> 6;
+        long firstMask = WORD_MASK << from;
+        long lastMask = WORD_MASK >>> -to;
+        if (fw == lw) {
+            long mask = firstMask & lastMask;
+            return (words[fw] & mask) == mask;
+        }
+        if ((words[fw] & firstMask) != firstMask) return false;
+        for (int i = fw + 1; i < lw; i++) {
+            if (words[i] != WORD_MASK) return false;
+        }
+        return (words[lw] & lastMask) == lastMask;
+    }
+
+    /** Próximo minuto livre a partir de {@code from}, ou -1. */
+    public int nextFree(int from) {
+        if (from >= MINUTES_PER_DAY) return -1;
+        int w = from >>> 6;
+        long word = words[w] & (WORD_MASK << from);
+        while (true) {
+            if (word != 0) {
+                int bit = (w << 6) + Long.numberOfTrailingZeros(word);
+                return bit < MINUTES_PER_DAY ? bit : -1;
+            }
+            if (++w == WORDS) return -1;
+            word = words[w];
+        }
+    }
+
+    /** Próximo minuto ocupado a partir de {@code from}, ou {@link #MINUTES_PER_DAY}. */
+    public int nextBusy(int from) {
+        if (from >= MINUTES_PER_DAY) return MINUTES_PER_DAY;
+        int w = from >>> 6;
+        long word = ~words[w] & (WORD_MASK << from);
+        while (true) {
+            if (word != 0) {
+                return Math.min((w << 6) + Long.numberOfTrailingZeros(word), MINUTES_PER_DAY);
+            }
+            if (++w == WORDS) return MINUTES_PER_DAY;
+            word = ~words[w];
+        }
+    }
+
+    /** Quantidade de intervalos livres contíguos no dia. */
+    public int freeRuns() {
+        int runs = 0;
+        int cursor = nextFree(0);
+        while (cursor >= 0) {
+            runs++;
+            cursor = nextFree(nextBusy(cursor));
+        }
+        return runs;
+    }
+
+    /**
+     * Grava em {@code out} os inícios (minuto do dia, múltiplos de slotMinutes) em que cabem
+     * {@code lengthMinutes} livres contíguos. Retorna a quantidade gravada; não aloca.
+     * {@code out} deve ter pelo menos {@code MINUTES_PER_DAY / slotMinutes + 1} posições.
+     */
+    public int slotStarts(int slotMinutes, int lengthMinutes, int[] out) {
+        int count = 0;
+        int cursor = 0;
+        while (true) {
+            int free = nextFree(cursor);
+            if (free < 0) break;
+            int start = ((free + slotMinutes - 1) / slotMinutes) * slotMinutes;
+            int end = start + lengthMinutes;
+            if (end > MINUTES_PER_DAY) break;
+            int busy = nextBusy(start);
+            if (busy >= end) {
+                out[count++] = start;
+                cursor = start + slotMinutes;
+            } else {
+                cursor = busy;
+            }
+        }
+        return count;
+    }
+
+    public DayBitmap copy() {
+        return new DayBitmap(Arrays.copyOf(words, WORDS));
+    }
+
+    /** Cópia com [from, to) marcado como ocupado. */
+    public DayBitmap withCleared(int from, int to) {
+        DayBitmap copy = copy();
+        copy.clear(from, to);
+        return copy;
+    }
+}
@@ -0,0 +1,61 @@
+package com.nailart.application.scheduling;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Tudo o que define a agenda de um funcionário em um dia, em minutos do dia.
+ * {@code windows}, {@code blocks} e {@code appointments} são pares [início, fim) consecutivos.
+ */
+public record DayScheduleContext(
+        UUID employeeId,
+        LocalDate date,
+        boolean holiday,
+        int slotMinutes,
+        int bufferMinutes,
+        int[] windows,
+        int[] blocks,
+        int[] appointments
+) {
+
+    /** Minutos livres: janelas do dia menos bloqueios e agendamentos confirmados; vazio em feriados. */
+    public DayBitmap toBitmap() {
+        DayBitmap free = new DayBitmap();
+        if (holiday) return free;
+        for (int i = 0; i < windows.length; i += 2) {
+            free.set(windows[i], windows[i + 1]);
+        }
+        for (int i = 0; i < blocks.length; i += 2) {
+            free.clear(blocks[i], blocks[i + 1]);
+        }
+        for (int i = 0; i < appointments.length; i += 2) {
+            free.clear(appointments[i], appointments[i + 1]);
+        }
+        return free;
+    }
+
+    /** Mesma regra de {@link AvailabilityEngine#fitsSlot}, sobre os dados deste contexto. */
+    public boolean fitsSlot(LocalTime start, int durationMinutes) {
+        int from = DayBitmap.minuteOf(start);
+        if (start.getSecond() != 0 || from % slotMinutes != 0) return false;
+        return toBitmap().isFree(from, from + durationMinutes + bufferMinutes);
+    }
+
+    public boolean overlapsAppointment(LocalTime start, LocalTime end) {
+        return overlaps(appointments, start, end);
+    }
+
+    public boolean overlapsBlock(LocalTime start, LocalTime end) {
+        return overlaps(blocks, start, end);
+    }
+
+    private static boolean overlaps(int[] pairs, LocalTime start, LocalTime end) {
+        int from = DayBitmap.minuteOf(start);
+        int to = DayBitmap.minuteOf(end);
+        for (int i = 0; i < pairs.length; i += 2) {
+            if (from < pairs[i + 1] && pairs[i] < to) return true;
+        }
+        return false;
+    }
+}
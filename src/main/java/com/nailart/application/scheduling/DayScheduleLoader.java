@@ -0,0 +1,99 @@
+package com.nailart.application.scheduling;
+
+import com.nailart.infrastructure.persistence.entity.AppointmentEntity;
+import com.nailart.infrastructure.persistence.entity.EmployeeBlockEntity;
+import com.nailart.infrastructure.persistence.repository.AppointmentJpaRepository;
+import com.nailart.infrastructure.persistence.repository.EmployeeBlockJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Monta {@link DayScheduleContext} lendo cada fonte uma única vez: configurações, feriados e janelas
+ * semanais vêm do {@link StudioCalendarCache}; bloqueios e agendamentos, de uma consulta cada.
+ */
+@Component
+@RequiredArgsConstructor
+public class DayScheduleLoader {
+
+    private static final int[] NONE = new int[0];
+
+    private final StudioCalendarCache calendar;
+    private final EmployeeBlockJpaRepository blockRepo;
+    private final AppointmentJpaRepository appointmentRepo;
+
+    public DayScheduleContext load(UUID employeeId, LocalDate date) {
+        return load(employeeId, date, date).get(date);
+    }
+
+    public Map<LocalDate, DayScheduleContext> load(UUID employeeId, LocalDate from, LocalDate to) {
+        var settings = calendar.settings();
+        Set<LocalDate> holidays = calendar.holidaysBetween(from, to);
+        WeeklyTemplate weekly = calendar.weeklyTemplate(employeeId);
+
+        Map<LocalDate, Pairs> blocks = new HashMap<>();
+        for (EmployeeBlockEntity b : blockRepo.findByEmployeeIdAndBlockDateBetween(employeeId, from, to)) {
+            blocks.computeIfAbsent(b.getBlockDate(), d -> new Pairs()).add(b.getStartTime(), b.getEndTime());
+        }
+        Map<LocalDate, Pairs> appointments = new HashMap<>();
+        for (AppointmentEntity a : appointmentRepo.findConfirmedByEmployeeAndDateBetween(employeeId, from, to)) {
+            appointments.computeIfAbsent(a.getAppointmentDate(), d -> new Pairs()).add(a.getStartTime(), a.getEndTime());
+        }
+
+        Map<LocalDate, DayScheduleContext> result = new LinkedHashMap<>();
+        for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+            result.put(d, new DayScheduleContext(
+                    employeeId, d, holidays.contains(d),
+                    settings.slotMinutes(), settings.bufferMinutes(),
+                    weekly.windowsByDay()[AvailabilityEngine.toDbDayOfWeek(d)],
+                    Pairs.toArray(blocks.get(d)),
+                    Pairs.toArray(appointments.get(d))));
+        }
+        return result;
+    }
+
+    public Map<UUID, DayScheduleContext> load(Collection<UUID> employeeIds, LocalDate date) {
+        var settings = calendar.settings();
+        boolean holiday = calendar.isHoliday(date);
+        int dayOfWeek = AvailabilityEngine.toDbDayOfWeek(date);
+        Map<UUID, WeeklyTemplate> weekly = calendar.weeklyTemplates(employeeIds);
+
+        Map<UUID, Pairs> blocks = new HashMap<>();
+        for (EmployeeBlockEntity b : blockRepo.findByEmployeeIdInAndBlockDate(employeeIds, date)) {
+            blocks.computeIfAbsent(b.getEmployee().getId(), id -> new Pairs()).add(b.getStartTime(), b.getEndTime());
+        }
+        Map<UUID, Pairs> appointments = new HashMap<>();
+        for (AppointmentEntity a : appointmentRepo.findConfirmedByEmployeesAndDate(employeeIds, date)) {
+            appointments.computeIfAbsent(a.getEmployee().getId(), id -> new Pairs()).add(a.getStartTime(), a.getEndTime());
+        }
+
+        Map<UUID, DayScheduleContext> result = new LinkedHashMap<>();
+        for (UUID id : employeeIds) {
+            result.put(id, new DayScheduleContext(
+                    id, date, holiday,
+                    settings.slotMinutes(), settings.bufferMinutes(),
+                    weekly.getOrDefault(id, WeeklyTemplate.EMPTY).windowsByDay()[dayOfWeek],
+                    Pairs.toArray(blocks.get(id)),
+                    Pairs.toArray(appointments.get(id))));
+        }
+        return result;
+    }
+
+    private static final class Pairs {
+        private int[] values = new int[8];
+        private int size;
+
+        void add(LocalTime start, LocalTime end) {
+            if (size + 2 > values.length) values = Arrays.copyOf(values, values.length * 2);
+            values[size++] = DayBitmap.minuteOf(start);
+            values[size++] = DayBitmap.minuteOf(end);
+        }
+
+        static int[] toArray(Pairs pairs) {
+            return pairs == null ? NONE : Arrays.copyOf(pairs.values, pairs.size);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.nailart.application.scheduling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Locks em faixas (stripes) por funcionário/dia. Agendamentos de funcionários diferentes seguem em paralelo;
+ * os do mesmo funcionário/dia são serializados até o fim da transação que adquiriu o lock.
+ */
+@Component
+public class EmployeeDayLocks {
+
+    private final ReentrantLock[] stripes;
+    private final Duration timeout;
+    private final Timer waitTimer;
+    private final Timer timeoutTimer;
+    private final Counter contended;
+
+    public EmployeeDayLocks(
+            MeterRegistry meterRegistry,
+            @Value("${nailart.booking.lock.stripes:256}") int stripeCount,
+            @Value("${nailart.booking.lock.timeout:5s}") Duration timeout
+    ) {
+        int size = Integer.highestOneBit(Math.max(stripeCount, 1) * 2 - 1);
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.timeout = timeout;
+        this.waitTimer = Timer.builder("booking.lock.wait").tag("result", "acquired").register(meterRegistry);
+        this.timeoutTimer = Timer.builder("booking.lock.wait").tag("result", "timeout").register(meterRegistry);
+        this.contended = Counter.builder("booking.lock.contended").register(meterRegistry);
+    }
+
+    /**
+     * Adquire os locks dos dias informados (em ordem fixa de stripe, evitando deadlock) e os libera
+     * ao término da transação corrente.
+     */
+    public void lockUntilCompletion(LocalDate date, UUID... employeeIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Lock de agenda exige transação ativa");
+        }
+        int[] indexes = Arrays.stream(employeeIds)
+                .mapToInt(id -> stripeOf(id, date))
+                .distinct()
+                .sorted()
+                .toArray();
+        ReentrantLock[] acquired = new ReentrantLock[indexes.length];
+        int count = 0;
+        try {
+            for (int index : indexes) {
+                acquire(stripes[index]);
+                acquired[count++] = stripes[index];
+            }
+        } catch (RuntimeException e) {
+            release(acquired, count);
+            throw e;
+        }
+        int held = count;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                release(acquired, held);
+            }
+        });
+    }
+
+    private void acquire(ReentrantLock lock) {
+        if (lock.tryLock()) {
+            waitTimer.record(0, TimeUnit.NANOSECONDS);
+            return;
+        }
+        contended.increment();
+        long start = System.nanoTime();
+        boolean locked;
+        try {
+            locked = lock.tryLock(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando agenda", e);
+        }
+        long waited = System.nanoTime() - start;
+        if (!locked) {
+            timeoutTimer.record(waited, TimeUnit.NANOSECONDS);
+            throw new AppointmentConflictException("Horário em disputa, tente novamente", null);
+        }
+        waitTimer.record(waited, TimeUnit.NANOSECONDS);
+    }
+
+    private static void release(ReentrantLock[] locks, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            locks[i].unlock();
+        }
+    }
+
+    private int stripeOf(UUID employeeId, LocalDate date) {
+        int h = Objects.hash(employeeId, date);
+        h ^= (h >>> 16);
+        return h & (stripes.length - 1);
+    }
+}
@@ -0,0 +1,74 @@
+package com.nailart.application.scheduling;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Métricas de consulta de horários e de criação de agendamentos. Os medidores são registrados
+ * uma vez; os caminhos quentes só fazem lookup em mapas por enum.
+ */
+@Component
+public class SchedulingMetrics {
+
+    /** Endpoint de disponibilidade: um funcionário/dia, período ou "qualquer profissional". */
+    public enum Query { EMPLOYEE, RANGE, ANY }
+
+    /**
+     * Resultado de {@link SchedulingService#createAppointment}: UNAVAILABLE reúne as recusas por regra de agenda (422),
+     * REJECTED as de entrada, permissão ou cadastro inexistente (400/403/404).
+     */
+    public enum BookingOutcome { SUCCESS, CONFLICT, UNAVAILABLE, BLOCKED, REJECTED, ERROR }
+
+    private final Map<Query, Timer> queryTimers = new EnumMap<>(Query.class);
+    private final Map<Query, DistributionSummary> slotsReturned = new EnumMap<>(Query.class);
+    private final Map<BookingOutcome, Timer> bookingTimers = new EnumMap<>(BookingOutcome.class);
+    private final DistributionSummary freeWindows;
+    private final DistributionSummary occupiedEntries;
+
+    public SchedulingMetrics(MeterRegistry meterRegistry) {
+        for (Query q : Query.values()) {
+            String mode = q.name().toLowerCase(Locale.ROOT);
+            queryTimers.put(q, Timer.builder("availability.query")
+                    .description("Tempo de cálculo dos horários disponíveis")
+                    .tag("mode", mode)
+                    .register(meterRegistry));
+            slotsReturned.put(q, DistributionSummary.builder("availability.slots.returned")
+                    .description("Horários devolvidos por consulta")
+                    .tag("mode", mode)
+                    .register(meterRegistry));
+        }
+        for (BookingOutcome o : BookingOutcome.values()) {
+            bookingTimers.put(o, Timer.builder("booking.create")
+                    .description("Criação de agendamento por resultado")
+                    .tag("outcome", o.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        this.freeWindows = DistributionSummary.builder("availability.free.windows")
+                .description("Janelas livres contíguas por funcionário/dia carregado do banco")
+                .register(meterRegistry);
+        this.occupiedEntries = DistributionSummary.builder("availability.day.occupied")
+                .description("Bloqueios + agendamentos confirmados por dia carregado do banco")
+                .register(meterRegistry);
+    }
+
+    public void querySlots(Timer.Sample sample, Query query, int slots) {
+        sample.stop(queryTimers.get(query));
+        slotsReturned.get(query).record(slots);
+    }
+
+    /** Só em falta de cache: contar as janelas percorre o bitmap e não deve entrar em toda consulta. */
+    public void dayLoaded(DayScheduleContext ctx, DayBitmap free) {
+        occupiedEntries.record((ctx.blocks().length + ctx.appointments().length) / 2);
+        freeWindows.record(free.freeRuns());
+    }
+
+    public void booking(Timer.Sample sample, BookingOutcome outcome) {
+        sample.stop(bookingTimers.get(outcome));
+    }
+}
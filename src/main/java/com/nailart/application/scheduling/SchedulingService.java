@@ -1,20 +1,31 @@
 package com.nailart.application.scheduling;
 
+import com.nailart.application.events.AppointmentOutbox;
+import com.nailart.application.finance.FinanceRollups;
+import com.nailart.domain.AppointmentEventType;
 import com.nailart.domain.AppointmentStatus;
 import com.nailart.infrastructure.persistence.entity.*;
 import com.nailart.infrastructure.persistence.repository.*;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLException;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -23,6 +34,9 @@ public class SchedulingService {
 
     private static final ZoneId ZONE = ZoneId.of("America/Sao_Paulo");
     private static final int CANCELLATION_HOURS_BEFORE = 6;
+    private static final String EXCLUSION_VIOLATION = "23P01";
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_AUTO_ASSIGN_ATTEMPTS = 3;
 
     private final AppointmentJpaRepository appointmentRepo;
     private final AppointmentSubstitutionJpaRepository substitutionRepo;
@@ -31,19 +45,147 @@ public class SchedulingService {
     private final ServiceJpaRepository serviceRepo;
     private final ServiceOptionJpaRepository serviceOptionRepo;
     private final AvailabilityService availabilityService;
+    private final AvailabilityEngine availabilityEngine;
+    private final DayScheduleLoader dayScheduleLoader;
+    private final EmployeeDayLocks employeeDayLocks;
+    private final SlotHoldRegistry slotHolds;
+    private final StudioCalendarCache calendar;
+    private final ApplicationEventPublisher events;
+    private final AppointmentOutbox outbox;
+    private final FinanceRollups financeRollups;
+    private final SchedulingMetrics metrics;
+    private final TransactionTemplate transaction;
 
-    @Transactional
+    /**
+     * Reserva o horário para o cliente por alguns minutos, enquanto ele conclui o agendamento.
+     * A reserva some dos horários livres para os demais clientes e é consumida por {@link #createAppointment}.
+     */
+    @Transactional(readOnly = true)
+    public SlotHoldRegistry.SlotHold holdSlot(
+            UUID clientUserId,
+            UUID employeeId,
+            UUID serviceId,
+            LocalDate date,
+            LocalTime startTime
+    ) {
+        UserEntity user = userRepo.findById(clientUserId).orElseThrow(() -> new NoSuchElementException("Cliente não encontrado"));
+        if (Boolean.TRUE.equals(user.getBlocked())) {
+            throw new ClientBlockedException();
+        }
+        if (employeeId == null) {
+            employeeId = availabilityService.pickLeastLoadedEmployee(serviceId, date, startTime, Set.of())
+                    .orElseThrow(() -> new IllegalStateException("Nenhum funcionário disponível neste horário"));
+        }
+        EmployeeEntity employee = employeeRepo.findById(employeeId).orElseThrow(() -> new NoSuchElementException("Funcionário não encontrado"));
+        ServiceEntity service = serviceRepo.findById(serviceId).orElseThrow(() -> new NoSuchElementException("Serviço não encontrado"));
+        if (!Boolean.TRUE.equals(employee.getActive())) throw new IllegalStateException("Funcionário inativo");
+        if (!Boolean.TRUE.equals(service.getActive())) throw new IllegalStateException("Serviço inativo");
+        boolean canPerform = employee.getServices().stream().anyMatch(s -> s.getId().equals(serviceId));
+        if (!canPerform) throw new IllegalStateException("Funcionário não atende este serviço");
+        if (!availabilityEngine.fitsSlot(employeeId, date, startTime, service.getDurationMax())) {
+            throw new IllegalStateException("Horário indisponível");
+        }
+        int start = DayBitmap.minuteOf(startTime);
+        SlotHoldRegistry.SlotHold hold = slotHolds.hold(clientUserId, employeeId, date, start, start + blockMinutes(service));
+        events.publishEvent(new AvailabilityChangedEvent(employeeId, date));
+        return hold;
+    }
+
+    public void releaseHold(UUID holdToken, UUID clientUserId) {
+        SlotHoldRegistry.SlotHold hold = slotHolds.find(holdToken)
+                .orElseThrow(() -> new NoSuchElementException("Reserva não encontrada ou expirada"));
+        if (!hold.clientUserId().equals(clientUserId)) {
+            throw new SecurityException("Reserva não pertence ao cliente");
+        }
+        slotHolds.release(clientUserId);
+        events.publishEvent(new AvailabilityChangedEvent(hold.employeeId(), hold.date()));
+    }
+
+    /**
+     * Sem funcionário nem reserva, escolhe o menos ocupado no horário; se o escolhido já estiver ocupado
+     * (constraint de sobreposição ou agenda mais recente no banco que no cache), tenta o próximo candidato.
+     * Cada tentativa é uma transação.
+     */
     public AppointmentEntity createAppointment(
             UUID clientUserId,
             UUID employeeId,
             UUID serviceId,
             LocalDate appointmentDate,
             LocalTime startTime,
+            List<UUID> optionIds,
+            UUID holdToken
+    ) {
+        Timer.Sample sample = Timer.start();
+        SchedulingMetrics.BookingOutcome outcome = SchedulingMetrics.BookingOutcome.ERROR;
+        try {
+            AppointmentEntity saved = employeeId != null || holdToken != null
+                    ? transaction.execute(s -> book(clientUserId, employeeId, serviceId, appointmentDate, startTime, optionIds, holdToken))
+                    : bookAnyEmployee(clientUserId, serviceId, appointmentDate, startTime, optionIds);
+            outcome = SchedulingMetrics.BookingOutcome.SUCCESS;
+            return saved;
+        } catch (AppointmentConflictException e) {
+            outcome = SchedulingMetrics.BookingOutcome.CONFLICT;
+            throw e;
+        } catch (ClientBlockedException e) {
+            outcome = SchedulingMetrics.BookingOutcome.BLOCKED;
+            throw e;
+        } catch (IllegalStateException e) {
+            outcome = SchedulingMetrics.BookingOutcome.UNAVAILABLE;
+            throw e;
+        } catch (IllegalArgumentException | NoSuchElementException | SecurityException e) {
+            outcome = SchedulingMetrics.BookingOutcome.REJECTED;
+            throw e;
+        } finally {
+            metrics.booking(sample, outcome);
+        }
+    }
+
+    private AppointmentEntity bookAnyEmployee(
+            UUID clientUserId,
+            UUID serviceId,
+            LocalDate appointmentDate,
+            LocalTime startTime,
             List<UUID> optionIds
+    ) {
+        Set<UUID> tried = new HashSet<>();
+        while (true) {
+            UUID candidate = availabilityService.pickLeastLoadedEmployee(serviceId, appointmentDate, startTime, tried)
+                    .orElseThrow(() -> new IllegalStateException("Nenhum funcionário disponível neste horário"));
+            try {
+                return transaction.execute(s -> book(clientUserId, candidate, serviceId, appointmentDate, startTime, optionIds, null));
+            } catch (AppointmentConflictException | SlotUnavailableException e) {
+                tried.add(candidate);
+                if (tried.size() == MAX_AUTO_ASSIGN_ATTEMPTS) throw e;
+            }
+        }
+    }
+
+    private AppointmentEntity book(
+            UUID clientUserId,
+            UUID employeeId,
+            UUID serviceId,
+            LocalDate appointmentDate,
+            LocalTime startTime,
+            List<UUID> optionIds,
+            UUID holdToken
     ) {
         UserEntity user = userRepo.findById(clientUserId).orElseThrow(() -> new NoSuchElementException("Cliente não encontrado"));
         if (Boolean.TRUE.equals(user.getBlocked())) {
-            throw new IllegalStateException("Cliente bloqueado");
+            throw new ClientBlockedException();
+        }
+        if (holdToken != null) {
+            SlotHoldRegistry.SlotHold hold = slotHolds.find(holdToken)
+                    .orElseThrow(() -> new IllegalStateException("Reserva expirada, escolha o horário novamente"));
+            if (!hold.clientUserId().equals(clientUserId)) {
+                throw new SecurityException("Reserva não pertence ao cliente");
+            }
+            if (employeeId == null) {
+                employeeId = hold.employeeId();
+            }
+            if (!hold.employeeId().equals(employeeId) || !hold.date().equals(appointmentDate)
+                    || hold.startMinute() != DayBitmap.minuteOf(startTime)) {
+                throw new IllegalArgumentException("Reserva não corresponde ao horário solicitado");
+            }
         }
         EmployeeEntity employee = employeeRepo.findById(employeeId).orElseThrow(() -> new NoSuchElementException("Funcionário não encontrado"));
         ServiceEntity service = serviceRepo.findById(serviceId).orElseThrow(() -> new NoSuchElementException("Serviço não encontrado"));
@@ -65,16 +207,17 @@ public class SchedulingService {
         }
         LocalTime endTime = startTime.plusMinutes(durationMin);
 
-        List<LocalTime> available = availabilityService.getAvailableSlots(employeeId, serviceId, appointmentDate);
-        if (!available.contains(startTime)) {
-            throw new IllegalStateException("Horário indisponível");
+        // Serializa agendamentos do mesmo funcionário/dia nesta instância; entre instâncias,
+        // a constraint appointments_employee_no_overlap garante a consistência.
+        employeeDayLocks.lockUntilCompletion(appointmentDate, employeeId);
+        // Lido do banco, não do bitmap em cache: um bloqueio criado em outra instância só chega ao cache
+        // local após o TTL, e a constraint de sobreposição cobre apenas agendamentos.
+        if (!dayScheduleLoader.load(employeeId, appointmentDate).fitsSlot(startTime, service.getDurationMax())) {
+            throw new SlotUnavailableException();
         }
-
-        List<AppointmentEntity> conflicts = appointmentRepo.findConfirmedByEmployeeAndDate(employeeId, appointmentDate);
-        for (AppointmentEntity a : conflicts) {
-            if (timesOverlap(startTime, endTime, a.getStartTime(), a.getEndTime())) {
-                throw new IllegalStateException("Conflito de horário");
-            }
+        int start = DayBitmap.minuteOf(startTime);
+        if (slotHolds.isHeldByOthers(employeeId, appointmentDate, start, start + blockMinutes(service), clientUserId)) {
+            throw new AppointmentConflictException("Horário reservado por outro cliente", null);
         }
 
         Map<String, Object> optionsSnapshot = options.isEmpty() ? null : Map.of(
@@ -97,7 +240,13 @@ public class SchedulingService {
                 .clientPhone(user.getPhone())
                 .serviceOptionsSnapshot(optionsSnapshot)
                 .build();
-        return appointmentRepo.save(appointment);
+        AppointmentEntity saved = saveCheckingOverlap(appointment, "Conflito de horário");
+        outbox.record(AppointmentEventType.CONFIRMED, saved, null);
+        financeRollups.appointmentStatusChanged(appointmentDate, priceCents, null, AppointmentStatus.CONFIRMED.name());
+        availabilityEngine.markBusy(employeeId, appointmentDate, startTime, endTime);
+        slotHolds.releaseAfterCommit(clientUserId);
+        events.publishEvent(new AvailabilityChangedEvent(employeeId, appointmentDate));
+        return saved;
     }
 
     @Transactional
@@ -117,11 +266,16 @@ public class SchedulingService {
         a.setCancelledAt(Instant.now());
         a.setCancelReason("BY_CLIENT");
         appointmentRepo.save(a);
+        outbox.record(AppointmentEventType.CANCELLED, a, null);
+        financeRollups.appointmentStatusChanged(a.getAppointmentDate(), a.getPriceCents(),
+                AppointmentStatus.CONFIRMED.name(), AppointmentStatus.CANCELLED.name());
+        availabilityEngine.invalidate(a.getEmployee().getId(), a.getAppointmentDate());
+        events.publishEvent(new AvailabilityChangedEvent(a.getEmployee().getId(), a.getAppointmentDate()));
     }
 
     @Transactional
     public AppointmentEntity substituteEmployee(UUID appointmentId, UUID newEmployeeId, String substitutedBy) {
-        AppointmentEntity a = appointmentRepo.findById(appointmentId).orElseThrow(() -> new NoSuchElementException("Agendamento não encontrado"));
+        AppointmentEntity a = appointmentRepo.findWithEmployeeAndServiceById(appointmentId).orElseThrow(() -> new NoSuchElementException("Agendamento não encontrado"));
         if (!AppointmentStatus.CONFIRMED.name().equals(a.getStatus())) {
             throw new IllegalStateException("Só é possível substituir agendamento confirmado");
         }
@@ -129,21 +283,21 @@ public class SchedulingService {
         if (previousEmployeeId.equals(newEmployeeId)) {
             throw new IllegalStateException("Novo funcionário deve ser diferente");
         }
+        employeeDayLocks.lockUntilCompletion(a.getAppointmentDate(), previousEmployeeId, newEmployeeId);
         EmployeeEntity newEmployee = employeeRepo.findById(newEmployeeId).orElseThrow(() -> new NoSuchElementException("Funcionário não encontrado"));
         if (!Boolean.TRUE.equals(newEmployee.getActive())) throw new IllegalStateException("Funcionário inativo");
         boolean canPerform = newEmployee.getServices().stream().anyMatch(s -> s.getId().equals(a.getService().getId()));
         if (!canPerform) throw new IllegalStateException("Funcionário não atende este serviço");
 
-        List<AppointmentEntity> newEmployeeConflicts = appointmentRepo.findConfirmedByEmployeeAndDate(newEmployeeId, a.getAppointmentDate());
-        for (AppointmentEntity other : newEmployeeConflicts) {
-            if (timesOverlap(a.getStartTime(), a.getEndTime(), other.getStartTime(), other.getEndTime())) {
-                throw new IllegalStateException("Novo funcionário tem conflito no horário");
-            }
+        DayScheduleContext newEmployeeDay = dayScheduleLoader.load(newEmployeeId, a.getAppointmentDate());
+        if (newEmployeeDay.overlapsAppointment(a.getStartTime(), a.getEndTime())
+                || newEmployeeDay.overlapsBlock(a.getStartTime(), a.getEndTime())) {
+            throw new IllegalStateException("Novo funcionário tem conflito no horário");
         }
 
         EmployeeEntity previousEmployee = a.getEmployee();
         a.setEmployee(newEmployee);
-        appointmentRepo.save(a);
+        saveCheckingOverlap(a, "Novo funcionário tem conflito no horário");
 
         AppointmentSubstitutionEntity sub = AppointmentSubstitutionEntity.builder()
                 .appointment(a)
@@ -153,12 +307,24 @@ public class SchedulingService {
                 .substitutedBy(substitutedBy)
                 .build();
         substitutionRepo.save(sub);
+        outbox.record(AppointmentEventType.SUBSTITUTED, a, previousEmployeeId);
+        availabilityEngine.invalidate(previousEmployeeId, a.getAppointmentDate());
+        availabilityEngine.markBusy(newEmployeeId, a.getAppointmentDate(), a.getStartTime(), a.getEndTime());
+        events.publishEvent(new AvailabilityChangedEvent(previousEmployeeId, a.getAppointmentDate()));
+        events.publishEvent(new AvailabilityChangedEvent(newEmployeeId, a.getAppointmentDate()));
         return a;
     }
 
+    /**
+     * Página de agendamentos do cliente em [from, to], após {@code after} (nulo para a primeira página).
+     */
     @Transactional(readOnly = true)
-    public List<AppointmentEntity> getAppointmentsByClient(UUID clientUserId, LocalDate from, LocalDate to) {
-        return appointmentRepo.findByClientUserIdAndAppointmentDateBetweenOrderByAppointmentDateAscStartTimeAsc(clientUserId, from, to);
+    public AppointmentPage getAppointmentsByClient(UUID clientUserId, LocalDate from, LocalDate to,
+                                                   AppointmentCursor after, int limit) {
+        checkPageSize(limit);
+        AppointmentCursor c = after != null ? after : AppointmentCursor.before(from);
+        return AppointmentPage.of(appointmentRepo.findPageByClient(
+                clientUserId, from, to, c.date(), c.startTime(), c.id(), Limit.of(limit + 1)), limit);
     }
 
     @Transactional(readOnly = true)
@@ -166,6 +332,16 @@ public class SchedulingService {
         return appointmentRepo.findByEmployeeIdAndAppointmentDateAndStatus(employeeId, date, AppointmentStatus.CONFIRMED.name());
     }
 
+    @Transactional(readOnly = true)
+    public AppointmentPage getAgendaPage(LocalDate date, UUID employeeIdOrNull, AppointmentCursor after, int limit) {
+        checkPageSize(limit);
+        AppointmentCursor c = after != null ? after : AppointmentCursor.before(date);
+        List<AppointmentEntity> rows = employeeIdOrNull != null
+                ? appointmentRepo.findPageByEmployee(employeeIdOrNull, date, date, c.date(), c.startTime(), c.id(), Limit.of(limit + 1))
+                : appointmentRepo.findPage(date, date, c.date(), c.startTime(), c.id(), Limit.of(limit + 1));
+        return AppointmentPage.of(rows, limit);
+    }
+
     @Transactional(readOnly = true)
     public List<AppointmentEntity> getAgendaForDay(LocalDate date, UUID employeeIdOrNull) {
         if (employeeIdOrNull != null) {
@@ -175,7 +351,43 @@ public class SchedulingService {
         return appointmentRepo.findByAppointmentDateBetweenOrderByAppointmentDateAscStartTimeAsc(date, date);
     }
 
-    private static boolean timesOverlap(LocalTime s1, LocalTime e1, LocalTime s2, LocalTime e2) {
-        return s1.compareTo(e2) < 0 && s2.compareTo(e1) < 0;
+    private static void checkPageSize(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit deve estar entre 1 e " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private int blockMinutes(ServiceEntity service) {
+        return service.getDurationMax() + calendar.settings().bufferMinutes();
+    }
+
+    private AppointmentEntity saveCheckingOverlap(AppointmentEntity appointment, String conflictMessage) {
+        try {
+            return appointmentRepo.saveAndFlush(appointment);
+        } catch (DataIntegrityViolationException e) {
+            if (isExclusionViolation(e)) {
+                throw new AppointmentConflictException(conflictMessage, e);
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isExclusionViolation(DataIntegrityViolationException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLException sql && EXCLUSION_VIOLATION.equals(sql.getSQLState())) return true;
+        }
+        return false;
+    }
+
+    /** {@code next} é nulo na última página. */
+    public record AppointmentPage(List<AppointmentEntity> items, AppointmentCursor next) {
+
+        /** {@code rows} deve ter sido buscado com limit + 1; a linha extra só indica que há próxima página. */
+        static AppointmentPage of(List<AppointmentEntity> rows, int limit) {
+            if (rows.size() <= limit) return new AppointmentPage(rows, null);
+            List<AppointmentEntity> items = rows.subList(0, limit);
+            AppointmentEntity last = items.get(limit - 1);
+            return new AppointmentPage(items, new AppointmentCursor(last.getAppointmentDate(), last.getStartTime(), last.getId()));
+        }
     }
 }
@@ -0,0 +1,186 @@
+package com.nailart.application.scheduling;
+
+import com.nailart.application.support.TransactionCallbacks;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reservas temporárias de horário (hold) em memória. Cada cliente tem no máximo uma reserva ativa;
+ * reservas expiradas são ignoradas nas consultas e removidas periodicamente.
+ */
+@Component
+public class SlotHoldRegistry {
+
+    private final Clock clock = Clock.systemUTC();
+    private final Duration ttl;
+    private final ApplicationEventPublisher events;
+    private final ConcurrentHashMap<UUID, SlotHold> byToken = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, UUID> tokenByClient = new ConcurrentHashMap<>();
+    // Listas imutáveis, substituídas dentro de compute(): a checagem de sobreposição e a inclusão são atômicas por dia.
+    private final ConcurrentHashMap<DayKey, List<SlotHold>> byDay = new ConcurrentHashMap<>();
+
+    public SlotHoldRegistry(
+            MeterRegistry meterRegistry,
+            ApplicationEventPublisher events,
+            @Value("${nailart.booking.hold.ttl:5m}") Duration ttl
+    ) {
+        this.ttl = ttl;
+        this.events = events;
+        Gauge.builder("booking.holds.active", byToken, ConcurrentHashMap::size).register(meterRegistry);
+    }
+
+    /**
+     * Reserva [startMinute, endMinute) para o cliente, substituindo a reserva anterior dele.
+     * Lança {@link AppointmentConflictException} se outro cliente já reservou parte do intervalo; nesse caso
+     * a reserva anterior é mantida. A troca acontece dentro do compute da chave do cliente, de modo que
+     * pedidos simultâneos do mesmo cliente não deixam duas reservas ativas.
+     */
+    public SlotHold hold(UUID clientUserId, UUID employeeId, LocalDate date, int startMinute, int endMinute) {
+        Instant now = clock.instant();
+        SlotHold hold = new SlotHold(UUID.randomUUID(), clientUserId, employeeId, date, startMinute, endMinute, now.plus(ttl));
+        tokenByClient.compute(clientUserId, (client, previous) -> {
+            addToDay(hold, now);
+            if (previous != null) {
+                removeHold(previous);
+            }
+            byToken.put(hold.token(), hold);
+            return hold.token();
+        });
+        return hold;
+    }
+
+    private void addToDay(SlotHold hold, Instant now) {
+        boolean[] accepted = {false};
+        byDay.compute(new DayKey(hold.employeeId(), hold.date()), (k, holds) -> {
+            List<SlotHold> active = new ArrayList<>();
+            if (holds != null) {
+                for (SlotHold h : holds) {
+                    if (h.isActive(now)) active.add(h);
+                }
+            }
+            for (SlotHold h : active) {
+                if (h.overlaps(hold.startMinute(), hold.endMinute()) && !h.clientUserId().equals(hold.clientUserId())) {
+                    return active.isEmpty() ? null : List.copyOf(active);
+                }
+            }
+            active.add(hold);
+            accepted[0] = true;
+            return List.copyOf(active);
+        });
+        if (!accepted[0]) {
+            throw new AppointmentConflictException("Horário reservado por outro cliente", null);
+        }
+    }
+
+    public Optional<SlotHold> find(UUID token) {
+        SlotHold hold = byToken.get(token);
+        return hold != null && hold.isActive(clock.instant()) ? Optional.of(hold) : Optional.empty();
+    }
+
+    public boolean isHeldByOthers(UUID employeeId, LocalDate date, int startMinute, int endMinute, UUID clientUserId) {
+        List<SlotHold> holds = byDay.get(new DayKey(employeeId, date));
+        if (holds == null) return false;
+        Instant now = clock.instant();
+        for (SlotHold h : holds) {
+            if (h.isActive(now) && h.overlaps(startMinute, endMinute) && !h.clientUserId().equals(clientUserId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Bitmap sem os intervalos reservados; devolve a mesma instância quando o dia não tem reservas. */
+    public DayBitmap withoutHolds(UUID employeeId, LocalDate date, DayBitmap free) {
+        List<SlotHold> holds = byDay.get(new DayKey(employeeId, date));
+        if (holds == null) return free;
+        Instant now = clock.instant();
+        DayBitmap result = free;
+        for (SlotHold h : holds) {
+            if (!h.isActive(now)) continue;
+            if (result == free) result = free.copy();
+            result.clear(h.startMinute(), h.endMinute());
+        }
+        return result;
+    }
+
+    public void release(UUID clientUserId) {
+        tokenByClient.computeIfPresent(clientUserId, (client, token) -> {
+            removeHold(token);
+            return null;
+        });
+    }
+
+    private void removeHold(UUID token) {
+        SlotHold hold = byToken.remove(token);
+        if (hold == null) return;
+        byDay.computeIfPresent(new DayKey(hold.employeeId(), hold.date()), (k, holds) -> {
+            List<SlotHold> rest = holds.stream().filter(h -> !h.token().equals(token)).toList();
+            return rest.isEmpty() ? null : rest;
+        });
+    }
+
+    public void releaseAfterCommit(UUID clientUserId) {
+        TransactionCallbacks.afterCommit(() -> release(clientUserId));
+    }
+
+    /**
+     * Remove reservas expiradas e publica {@link AvailabilityChangedEvent} para cada funcionário/dia liberado,
+     * para que os assinantes do stream de disponibilidade vejam o horário voltar.
+     */
+    @Scheduled(fixedDelayString = "${nailart.booking.hold.sweep-interval:PT15S}")
+    public void sweepExpired() {
+        Instant now = clock.instant();
+        Set<DayKey> freed = new HashSet<>();
+        for (SlotHold hold : byToken.values()) {
+            if (!hold.isActive(now) && byToken.remove(hold.token(), hold)) {
+                tokenByClient.remove(hold.clientUserId(), hold.token());
+                freed.add(new DayKey(hold.employeeId(), hold.date()));
+            }
+        }
+        for (DayKey key : byDay.keySet()) {
+            byDay.computeIfPresent(key, (k, holds) -> {
+                List<SlotHold> active = holds.stream().filter(h -> h.isActive(now)).toList();
+                return active.isEmpty() ? null : active;
+            });
+        }
+        for (DayKey key : freed) {
+            events.publishEvent(new AvailabilityChangedEvent(key.employeeId(), key.date()));
+        }
+    }
+
+    public record SlotHold(
+            UUID token,
+            UUID clientUserId,
+            UUID employeeId,
+            LocalDate date,
+            int startMinute,
+            int endMinute,
+            Instant expiresAt
+    ) {
+        boolean isActive(Instant now) {
+            return now.isBefore(expiresAt);
+        }
+
+        boolean overlaps(int from, int to) {
+            return from < endMinute && startMinute < to;
+        }
+    }
+
+    private record DayKey(UUID employeeId, LocalDate date) {}
+}
@@ -0,0 +1,12 @@
+package com.nailart.application.scheduling;
+
+/**
+ * Horário ocupado segundo a agenda lida do banco no momento do agendamento (bloqueio ou agendamento
+ * que o cache local ainda não refletia).
+ */
+public class SlotUnavailableException extends IllegalStateException {
+
+    public SlotUnavailableException() {
+        super("Horário indisponível");
+    }
+}
@@ -0,0 +1,118 @@
+package com.nailart.application.scheduling;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.nailart.infrastructure.persistence.entity.EmployeeAvailabilityEntity;
+import com.nailart.infrastructure.persistence.entity.HolidayEntity;
+import com.nailart.infrastructure.persistence.repository.EmployeeAvailabilityJpaRepository;
+import com.nailart.infrastructure.persistence.repository.HolidayJpaRepository;
+import com.nailart.infrastructure.persistence.repository.StudioSettingsJpaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Cache de leitura dos dados que mudam raramente: configurações do estúdio, feriados (por ano) e
+ * disponibilidade semanal de cada funcionário. A aplicação não grava configurações nem feriados (são alterados
+ * direto no banco), então essas mudanças só valem após o TTL deste cache somado ao do cache de dias do
+ * {@link AvailabilityEngine}. A disponibilidade semanal é invalidada em {@link AvailabilityEngine#invalidateEmployee}.
+ */
+@Component
+public class StudioCalendarCache {
+
+    private static final int DEFAULT_SLOT_MINUTES = 15;
+    private static final int DEFAULT_BUFFER_MINUTES = 10;
+    private static final String SETTINGS_KEY = "studio";
+
+    private final LoadingCache<String, SlotSettings> settings;
+    private final LoadingCache<Integer, NavigableSet<LocalDate>> holidaysByYear;
+    private final LoadingCache<UUID, WeeklyTemplate> weeklyTemplates;
+
+    public StudioCalendarCache(
+            StudioSettingsJpaRepository settingsRepo,
+            HolidayJpaRepository holidayRepo,
+            EmployeeAvailabilityJpaRepository availabilityRepo,
+            MeterRegistry meterRegistry,
+            @Value("${nailart.calendar.cache.ttl:10m}") Duration ttl,
+            @Value("${nailart.calendar.cache.max-employees:5000}") long maxEmployees
+    ) {
+        this.settings = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(key -> settingsRepo.findFirstByOrderByCreatedAtAsc()
+                        .map(s -> new SlotSettings(
+                                s.getSlotMinutes() != null && s.getSlotMinutes() > 0 ? s.getSlotMinutes() : DEFAULT_SLOT_MINUTES,
+                                s.getBufferMinutes() != null ? s.getBufferMinutes() : DEFAULT_BUFFER_MINUTES))
+                        .orElse(new SlotSettings(DEFAULT_SLOT_MINUTES, DEFAULT_BUFFER_MINUTES)));
+        this.holidaysByYear = Caffeine.newBuilder()
+                .maximumSize(16)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(year -> holidayRepo.findByHolidayDateBetween(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31)).stream()
+                        .map(HolidayEntity::getHolidayDate)
+                        .collect(Collectors.collectingAndThen(Collectors.toCollection(TreeSet::new), Collections::unmodifiableNavigableSet)));
+        this.weeklyTemplates = Caffeine.newBuilder()
+                .maximumSize(maxEmployees)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public WeeklyTemplate load(UUID employeeId) {
+                        return WeeklyTemplate.of(availabilityRepo.findByEmployeeIdOrderByDayOfWeekAscStartTimeAsc(employeeId));
+                    }
+
+                    @Override
+                    public Map<UUID, WeeklyTemplate> loadAll(Set<? extends UUID> employeeIds) {
+                        Map<UUID, List<EmployeeAvailabilityEntity>> byEmployee = availabilityRepo.findByEmployeeIdIn(List.copyOf(employeeIds)).stream()
+                                .collect(Collectors.groupingBy(a -> a.getEmployee().getId()));
+                        Map<UUID, WeeklyTemplate> result = new HashMap<>();
+                        for (UUID id : employeeIds) {
+                            List<EmployeeAvailabilityEntity> rows = byEmployee.get(id);
+                            result.put(id, rows == null ? WeeklyTemplate.EMPTY : WeeklyTemplate.of(rows));
+                        }
+                        return result;
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, settings, "studio.settings");
+        CaffeineCacheMetrics.monitor(meterRegistry, holidaysByYear, "studio.holidays");
+        CaffeineCacheMetrics.monitor(meterRegistry, weeklyTemplates, "employee.weeklyAvailability");
+    }
+
+    public SlotSettings settings() {
+        return settings.get(SETTINGS_KEY);
+    }
+
+    public boolean isHoliday(LocalDate date) {
+        return holidaysByYear.get(date.getYear()).contains(date);
+    }
+
+    public Set<LocalDate> holidaysBetween(LocalDate from, LocalDate to) {
+        Set<LocalDate> result = new HashSet<>();
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            result.addAll(holidaysByYear.get(year).subSet(from, true, to, true));
+        }
+        return result;
+    }
+
+    public WeeklyTemplate weeklyTemplate(UUID employeeId) {
+        return weeklyTemplates.get(employeeId);
+    }
+
+    public Map<UUID, WeeklyTemplate> weeklyTemplates(Collection<UUID> employeeIds) {
+        return weeklyTemplates.getAll(employeeIds);
+    }
+
+    public void invalidateWeeklyTemplate(UUID employeeId) {
+        weeklyTemplates.invalidate(employeeId);
+    }
+
+    public record SlotSettings(int slotMinutes, int bufferMinutes) {}
+}
@@ -0,0 +1,48 @@
+package com.nailart.application.scheduling;
+
+import com.nailart.infrastructure.persistence.entity.EmployeeAvailabilityEntity;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Disponibilidade semanal de um funcionário em minutos do dia: para cada dia (1=domingo..7=sábado),
+ * pares [início, fim) consecutivos.
+ */
+public record WeeklyTemplate(int[][] windowsByDay) {
+
+    public static final WeeklyTemplate EMPTY = of(List.of());
+
+    public static WeeklyTemplate of(List<EmployeeAvailabilityEntity> availability) {
+        int[][] byDay = new int[8][];
+        int[] counts = new int[8];
+        for (EmployeeAvailabilityEntity a : availability) {
+            counts[a.getDayOfWeek()]++;
+        }
+        for (int d = 0; d < 8; d++) {
+            byDay[d] = new int[counts[d] * 2];
+        }
+        int[] pos = new int[8];
+        for (EmployeeAvailabilityEntity a : availability) {
+            int d = a.getDayOfWeek();
+            byDay[d][pos[d]++] = DayBitmap.minuteOf(a.getStartTime());
+            byDay[d][pos[d]++] = DayBitmap.minuteOf(a.getEndTime());
+        }
+        return new WeeklyTemplate(byDay);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof WeeklyTemplate other && Arrays.deepEquals(windowsByDay, other.windowsByDay);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.deepHashCode(windowsByDay);
+    }
+
+    @Override
+    public String toString() {
+        return "WeeklyTemplate" + Arrays.deepToString(windowsByDay);
+    }
+}
@@ -0,0 +1,70 @@
+package com.nailart.application.services;
+
+import com.nailart.application.support.TransactionCallbacks;
+import com.nailart.infrastructure.persistence.repository.CatalogVersionJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Versão do catálogo público (serviços, opções e funcionários), usada como ETag nos endpoints públicos.
+ * Fica no banco (tabela {@code catalog_version}) e é incrementada na mesma transação da escrita: só fica
+ * visível com o commit, e todas as instâncias convergem para o mesmo ETag.
+ *
+ * <p>As requisições leem só a cópia em memória. Ela é atualizada após o commit de {@link #bump()} nesta
+ * instância e, para escritas de outras instâncias, a cada {@code nailart.catalog.version-poll-interval}.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogVersion {
+
+    private final CatalogVersionJpaRepository repository;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+
+    /** Sem acesso ao banco, exceto na primeira chamada antes do primeiro poll. */
+    public Snapshot current() {
+        Snapshot snapshot = current.get();
+        return snapshot != null ? snapshot : refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${nailart.catalog.version-poll-interval:PT5S}")
+    @Transactional(readOnly = true)
+    public Snapshot refresh() {
+        return publish(read());
+    }
+
+    /** Chamado dentro da transação que altera o catálogo. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bump() {
+        repository.increment(Instant.now());
+        // A linha fica travada até o commit: o valor lido aqui é exatamente o desta escrita.
+        Snapshot bumped = read();
+        TransactionCallbacks.afterCommit(() -> publish(bumped));
+    }
+
+    private Snapshot read() {
+        CatalogVersionJpaRepository.Row row = repository.read()
+                .orElseThrow(() -> new IllegalStateException("catalog_version sem a linha id = 1"));
+        return new Snapshot(row.getVersion(), row.getUpdatedAt().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    /** A versão só cresce: um poll lido antes de um bump local não volta o valor em memória. */
+    private Snapshot publish(Snapshot candidate) {
+        return current.accumulateAndGet(candidate,
+                (previous, next) -> previous == null || next.version() > previous.version() ? next : previous);
+    }
+
+    public record Snapshot(long version, Instant lastModified) {
+
+        /** ETag forte, entre aspas. */
+        public String etag() {
+            return "\"catalog-" + Long.toHexString(version) + "\"";
+        }
+    }
+}
@@ -18,6 +18,7 @@ public class ServiceCatalogService {
 
     private final ServiceJpaRepository serviceRepo;
     private final ServiceOptionJpaRepository serviceOptionRepo;
+    private final CatalogVersion catalogVersion;
 
     @Transactional(readOnly = true)
     public List<ServiceEntity> listActive() {
@@ -46,6 +47,7 @@ public class ServiceCatalogService {
                 .durationMax(durationMax)
                 .active(true)
                 .build();
+        catalogVersion.bump();
         return serviceRepo.save(s);
     }
 
@@ -59,12 +61,14 @@ public class ServiceCatalogService {
         if (durationMin != null) s.setDurationMin(durationMin);
         if (durationMax != null) s.setDurationMax(durationMax);
         if (active != null) s.setActive(active);
+        catalogVersion.bump();
         return serviceRepo.save(s);
     }
 
     @Transactional
     public void delete(UUID id) {
         serviceRepo.deleteById(id);
+        catalogVersion.bump();
     }
 
     @Transactional(readOnly = true)
@@ -82,6 +86,7 @@ public class ServiceCatalogService {
                 .durationDeltaMin(durationDeltaMin)
                 .active(true)
                 .build();
+        catalogVersion.bump();
         return serviceOptionRepo.save(o);
     }
 
@@ -94,6 +99,7 @@ public class ServiceCatalogService {
         if (priceDeltaCents != null) o.setPriceDeltaCents(priceDeltaCents);
         if (durationDeltaMin != null) o.setDurationDeltaMin(durationDeltaMin);
         if (active != null) o.setActive(active);
+        catalogVersion.bump();
         return serviceOptionRepo.save(o);
     }
 }
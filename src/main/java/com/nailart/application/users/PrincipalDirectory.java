@@ -0,0 +1,62 @@
+package com.nailart.application.users;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.nailart.infrastructure.persistence.repository.EmployeeJpaRepository;
+import com.nailart.infrastructure.persistence.repository.UserJpaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Resolve o {@code sub} do JWT (keycloak_id) para os ids de cliente e de funcionário, pelo índice em keycloak_id.
+ * Só resultados encontrados ficam em cache: um cadastro novo é visto na próxima requisição.
+ */
+@Component
+public class PrincipalDirectory {
+
+    private final LoadingCache<String, UUID> userIds;
+    private final LoadingCache<String, UUID> employeeIds;
+
+    public PrincipalDirectory(
+            UserJpaRepository userRepo,
+            EmployeeJpaRepository employeeRepo,
+            MeterRegistry meterRegistry,
+            @Value("${nailart.security.principal-cache.ttl:5m}") Duration ttl,
+            @Value("${nailart.security.principal-cache.max-size:10000}") long maxSize
+    ) {
+        this.userIds = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(keycloakId -> userRepo.findIdByKeycloakId(keycloakId).orElse(null));
+        this.employeeIds = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(keycloakId -> employeeRepo.findIdByKeycloakId(keycloakId).orElse(null));
+        CaffeineCacheMetrics.monitor(meterRegistry, userIds, "principal.users");
+        CaffeineCacheMetrics.monitor(meterRegistry, employeeIds, "principal.employees");
+    }
+
+    public Optional<UUID> findUserId(String keycloakId) {
+        return Optional.ofNullable(userIds.get(keycloakId));
+    }
+
+    public Optional<UUID> findEmployeeId(String keycloakId) {
+        return Optional.ofNullable(employeeIds.get(keycloakId));
+    }
+
+    public void rememberUser(String keycloakId, UUID userId) {
+        userIds.put(keycloakId, userId);
+    }
+
+    public void forgetEmployee(UUID employeeId) {
+        employeeIds.asMap().values().removeIf(employeeId::equals);
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -36,9 +37,14 @@ public class UserService {
     public UserEntity createOrUpdateFromKeycloak(String keycloakId, String email, String fullName, String phone) {
         return userRepo.findByKeycloakId(keycloakId)
                 .map(u -> {
+                    // Login recorrente com as mesmas claims: nada a gravar.
+                    if (Objects.equals(u.getEmail(), email) && Objects.equals(u.getFullName(), fullName)
+                            && (phone == null || phone.equals(u.getPhone()))) {
+                        return u;
+                    }
                     u.setEmail(email);
                     u.setFullName(fullName);
-                    u.setPhone(phone);
+                    if (phone != null) u.setPhone(phone);
                     return userRepo.save(u);
                 })
                 .orElseGet(() -> {
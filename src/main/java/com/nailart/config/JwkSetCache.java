@@ -0,0 +1,115 @@
+package com.nailart.config;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Chaves públicas do Keycloak em memória, recarregadas em segundo plano. A validação de assinatura
+ * só consulta o endpoint quando o token traz um {@code kid} desconhecido (rotação de chave), no máximo
+ * uma vez a cada {@code min-refresh-interval} e por uma requisição só. Com {@code nailart.security.jwk-set-location}
+ * as chaves vêm de um arquivo local (ex.: JWK set de teste) em vez de {@code jwk-set-uri}.
+ */
+@Slf4j
+@Component
+public class JwkSetCache implements JWKSource<SecurityContext> {
+
+    private static final int TIMEOUT_MILLIS = 2000;
+
+    private final ResourceLoader resourceLoader;
+    private final String location;
+    private final String jwkSetUri;
+    private final Duration minRefreshInterval;
+    // ReentrantLock e não synchronized: a carga faz I/O e não deve prender threads virtuais à carrier.
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile JWKSet current = new JWKSet();
+    private volatile Instant lastAttempt = Instant.EPOCH;
+
+    public JwkSetCache(
+            ResourceLoader resourceLoader,
+            @Value("${nailart.security.jwk-set-location:}") String location,
+            @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri:}") String jwkSetUri,
+            @Value("${nailart.security.jwk-min-refresh-interval:PT30S}") Duration minRefreshInterval
+    ) {
+        if (location.isBlank() && jwkSetUri.isBlank()) {
+            throw new IllegalStateException("Configure spring.security.oauth2.resourceserver.jwt.jwk-set-uri ou nailart.security.jwk-set-location");
+        }
+        this.resourceLoader = resourceLoader;
+        this.location = location;
+        this.jwkSetUri = jwkSetUri;
+        this.minRefreshInterval = minRefreshInterval;
+        refresh();
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector selector, SecurityContext context) {
+        List<JWK> keys = selector.select(current);
+        if (keys.isEmpty() && refreshDue() && refreshLock.tryLock()) {
+            // Só uma requisição busca o JWK set; as concorrentes seguem com as chaves atuais em vez de esperar.
+            try {
+                if (refreshDue()) {
+                    reload();
+                }
+            } finally {
+                refreshLock.unlock();
+            }
+            keys = selector.select(current);
+        }
+        return keys;
+    }
+
+    @Scheduled(initialDelayString = "${nailart.security.jwk-refresh-interval:PT5M}",
+            fixedDelayString = "${nailart.security.jwk-refresh-interval:PT5M}")
+    public void refresh() {
+        refreshNow();
+    }
+
+    private void refreshNow() {
+        refreshLock.lock();
+        try {
+            reload();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private boolean refreshDue() {
+        return Instant.now().isAfter(lastAttempt.plus(minRefreshInterval));
+    }
+
+    /** Chamar com {@code refreshLock} adquirido. */
+    private void reload() {
+        lastAttempt = Instant.now();
+        try {
+            current = load();
+        } catch (Exception e) {
+            // Mantém as chaves anteriores; tokens assinados por elas continuam válidos.
+            log.warn("Falha ao carregar JWK set de {}: {}", location.isBlank() ? jwkSetUri : location, e.getMessage());
+        }
+    }
+
+    private JWKSet load() throws Exception {
+        if (!location.isBlank()) {
+            Resource resource = resourceLoader.getResource(location);
+            try (InputStream in = resource.getInputStream()) {
+                return JWKSet.load(in);
+            }
+        }
+        return JWKSet.load(URI.create(jwkSetUri).toURL(), TIMEOUT_MILLIS, TIMEOUT_MILLIS, 0);
+    }
+}
@@ -1,5 +1,6 @@
 package com.nailart.config;
 
+import com.nailart.web.support.CurrentClientId;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Contact;
@@ -8,6 +9,7 @@ import io.swagger.v3.oas.models.info.License;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import io.swagger.v3.oas.models.servers.Server;
+import org.springdoc.core.utils.SpringDocUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -18,6 +20,11 @@ public class OpenApiConfig {
 
     private static final String BEARER_AUTH = "bearerAuth";
 
+    static {
+        // Parâmetro resolvido do JWT, não faz parte do contrato HTTP.
+        SpringDocUtils.getConfig().addAnnotationsToIgnore(CurrentClientId.class);
+    }
+
     @Bean
     public OpenAPI openAPI() {
         return new OpenAPI()
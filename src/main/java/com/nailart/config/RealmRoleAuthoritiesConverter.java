@@ -0,0 +1,75 @@
+package com.nailart.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converte {@code realm_access.roles} do Keycloak em {@code ROLE_*}. O resultado fica em cache pelo {@code jti}
+ * até o token expirar (o token é imutável) e cada role usa uma única instância de {@link GrantedAuthority}.
+ */
+class RealmRoleAuthoritiesConverter implements Converter<Jwt, Collection<GrantedAuthority>> {
+
+    private final ConcurrentHashMap<String, GrantedAuthority> authorities = new ConcurrentHashMap<>();
+    private final Cache<String, TokenAuthorities> byTokenId;
+
+    RealmRoleAuthoritiesConverter(MeterRegistry meterRegistry, long maxTokens, Duration maxTtl) {
+        this.byTokenId = Caffeine.newBuilder()
+                .maximumSize(maxTokens)
+                .expireAfter(new Expiry<String, TokenAuthorities>() {
+                    @Override
+                    public long expireAfterCreate(String jti, TokenAuthorities value, long currentTime) {
+                        if (value.expiresAt() == null) return maxTtl.toNanos();
+                        Duration left = Duration.between(Instant.now(), value.expiresAt());
+                        return Math.max(0, Math.min(left.toNanos(), maxTtl.toNanos()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String jti, TokenAuthorities value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String jti, TokenAuthorities value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byTokenId, "security.jwt.authorities");
+    }
+
+    @Override
+    public Collection<GrantedAuthority> convert(Jwt jwt) {
+        String jti = jwt.getId();
+        if (jti == null) return extract(jwt);
+        return byTokenId.get(jti, k -> new TokenAuthorities(extract(jwt), jwt.getExpiresAt())).authorities();
+    }
+
+    private List<GrantedAuthority> extract(Jwt jwt) {
+        Map<String, Object> realmAccess = jwt.getClaimAsMap("realm_access");
+        if (realmAccess == null || !(realmAccess.get("roles") instanceof Collection<?> roles)) {
+            return List.of();
+        }
+        return roles.stream()
+                .map(r -> authorities.computeIfAbsent(String.valueOf(r),
+                        role -> new SimpleGrantedAuthority("ROLE_" + role.toUpperCase(Locale.ROOT))))
+                .toList();
+    }
+
+    private record TokenAuthorities(List<GrantedAuthority> authorities, Instant expiresAt) {}
+}
@@ -0,0 +1,39 @@
+package com.nailart.config;
+
+import com.nailart.infrastructure.persistence.SqlStatementInspector;
+import com.nailart.infrastructure.persistence.SqlTimingListener;
+import com.nailart.web.support.SqlBudgetFilter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Orçamento de SQL por requisição: o Hibernate reporta cada comando e o tempo de JDBC ao
+ * {@link com.nailart.infrastructure.persistence.SqlBudget} e o {@link SqlBudgetFilter} avisa quando uma
+ * requisição passa do limite. Pega N+1 reintroduzido (ex. EmployeeEntity.services, associações de agendamento).
+ */
+@Configuration
+@ConditionalOnProperty(name = "nailart.sql-budget.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlBudgetConfig {
+
+    @Bean
+    HibernatePropertiesCustomizer sqlBudgetHibernateCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTimingListener.class.getName());
+        };
+    }
+
+    @Bean
+    SqlBudgetFilter sqlBudgetFilter(
+            @Value("${nailart.sql-budget.max-statements:20}") int maxStatements,
+            @Value("${nailart.sql-budget.max-jdbc-time:PT0.2S}") Duration maxJdbcTime
+    ) {
+        return new SqlBudgetFilter(maxStatements, maxJdbcTime);
+    }
+}
@@ -0,0 +1,52 @@
+package com.nailart.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Escuta o evento JFR {@code jdk.VirtualThreadPinned} (thread virtual presa à carrier, p.ex. bloqueio dentro de
+ * {@code synchronized}) e publica como timer {@code jvm.threads.virtual.pinned}. O frame da aplicação que causou
+ * o pinning vai para o log em DEBUG.
+ */
+@Slf4j
+class VirtualThreadPinningMonitor implements AutoCloseable {
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+
+    private final RecordingStream stream = new RecordingStream();
+    private final Timer pinned;
+
+    VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Threads virtuais presas à carrier por mais que o limiar")
+                .register(meterRegistry);
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::onPinned);
+        stream.startAsync();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        if (log.isDebugEnabled() && event.getStackTrace() != null) {
+            List<RecordedFrame> frames = event.getStackTrace().getFrames();
+            frames.stream()
+                    .filter(f -> f.getMethod().getType().getName().startsWith("com.nailart."))
+                    .findFirst()
+                    .or(() -> frames.stream().findFirst())
+                    .ifPresent(f -> log.debug("Thread virtual presa por {} ms em {}.{}:{}", event.getDuration().toMillis(),
+                            f.getMethod().getType().getName(), f.getMethod().getName(), f.getLineNumber()));
+        }
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+}
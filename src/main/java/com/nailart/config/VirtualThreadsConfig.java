@@ -0,0 +1,48 @@
+package com.nailart.config;
+
+import com.nailart.infrastructure.persistence.ConnectionLimitingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Ativo com {@code spring.threads.virtual.enabled=true}: o Spring Boot passa Tomcat, o executor de tarefas
+ * (async MVC, SSE, exportações) e o scheduler para threads virtuais; aqui entram o limite de conexões e o
+ * monitor de pinning.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    @Bean
+    static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+            @Value("${nailart.datasource.limiter.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+            @Value("${nailart.datasource.limiter.acquire-timeout:PT5S}") Duration acquireTimeout
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionLimitingDataSource)) {
+                    // Registro global: o MeterRegistry do Boot ainda pode não existir quando o DataSource é criado.
+                    return new ConnectionLimitingDataSource(dataSource, permits, acquireTimeout, Metrics.globalRegistry);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean(destroyMethod = "close")
+    VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${nailart.virtual-threads.pinned-threshold:PT20MS}") Duration threshold
+    ) {
+        return new VirtualThreadPinningMonitor(meterRegistry, threshold);
+    }
+}
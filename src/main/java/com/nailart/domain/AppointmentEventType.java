@@ -0,0 +1,8 @@
+package com.nailart.domain;
+
+public enum AppointmentEventType {
+    CONFIRMED,
+    CANCELLED,
+    NO_SHOW,
+    SUBSTITUTED
+}
@@ -0,0 +1,29 @@
+package com.nailart.domain;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+public enum FinanceGranularity {
+    DAY,
+    WEEK,
+    MONTH;
+
+    /** Primeiro dia do bucket que contém {@code date} (semanas começam na segunda-feira). */
+    public LocalDate bucketStart(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    /** Último dia do bucket que começa em {@code start}. */
+    public LocalDate bucketEnd(LocalDate start) {
+        return switch (this) {
+            case DAY -> start;
+            case WEEK -> start.plusDays(6);
+            case MONTH -> start.with(TemporalAdjusters.lastDayOfMonth());
+        };
+    }
+}
@@ -0,0 +1,122 @@
+package com.nailart.infrastructure.persistence;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Contagem de comandos SQL e tempo de JDBC da thread atual, alimentada pelo {@link SqlStatementInspector}
+ * e pelo {@link SqlTimingListener}. Fora de uma gravação ({@link #start()}), nada é registrado.
+ */
+public final class SqlBudget {
+
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_FINGERPRINT_LENGTH = 300;
+
+    private SqlBudget() {
+    }
+
+    /** Abre uma gravação na thread atual; gravações aninhadas somam na externa ao parar. */
+    public static Recording start() {
+        Recording recording = new Recording(CURRENT.get());
+        CURRENT.set(recording);
+        return recording;
+    }
+
+    static void statement(String sql) {
+        Recording recording = CURRENT.get();
+        if (recording != null) recording.statement(sql);
+    }
+
+    static void jdbcTime(long nanos) {
+        Recording recording = CURRENT.get();
+        if (recording != null) recording.jdbcNanos += nanos;
+    }
+
+    /** SQL sem literais, com listas IN colapsadas e espaços normalizados. */
+    static String fingerprint(String sql) {
+        String s = STRING_LITERAL.matcher(sql).replaceAll("?");
+        s = NUMBER_LITERAL.matcher(s).replaceAll("?");
+        s = IN_LIST.matcher(s).replaceAll("(?...)");
+        s = WHITESPACE.matcher(s).replaceAll(" ").trim();
+        return s.length() > MAX_FINGERPRINT_LENGTH ? s.substring(0, MAX_FINGERPRINT_LENGTH) + "..." : s;
+    }
+
+    /** Usada só pela thread que a abriu. */
+    public static final class Recording implements AutoCloseable {
+
+        private final Recording parent;
+        // Chave é o SQL bruto: o fingerprint só é calculado em describe().
+        private final Map<String, Integer> bySql = new HashMap<>();
+        private int statements;
+        private long jdbcNanos;
+        private boolean stopped;
+
+        private Recording(Recording parent) {
+            this.parent = parent;
+        }
+
+        private void statement(String sql) {
+            statements++;
+            bySql.merge(sql, 1, Integer::sum);
+        }
+
+        public int statements() {
+            return statements;
+        }
+
+        public Duration jdbcTime() {
+            return Duration.ofNanos(jdbcNanos);
+        }
+
+        /** Fingerprints em ordem decrescente de execuções. */
+        public List<Map.Entry<String, Integer>> fingerprints() {
+            Map<String, Integer> grouped = new HashMap<>();
+            bySql.forEach((sql, count) -> grouped.merge(fingerprint(sql), count, Integer::sum));
+            List<Map.Entry<String, Integer>> result = new ArrayList<>(grouped.entrySet());
+            result.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+            return result;
+        }
+
+        public String describe(int limit) {
+            StringBuilder sb = new StringBuilder();
+            List<Map.Entry<String, Integer>> fingerprints = fingerprints();
+            for (int i = 0; i < fingerprints.size() && i < limit; i++) {
+                var e = fingerprints.get(i);
+                sb.append("  ").append(e.getValue()).append("x ").append(e.getKey()).append('\n');
+            }
+            if (fingerprints.size() > limit) {
+                sb.append("  ... ").append(fingerprints.size() - limit).append(" outros\n");
+            }
+            return sb.toString();
+        }
+
+        /** Encerra a gravação e devolve a thread à gravação externa, se houver. Idempotente. */
+        public void stop() {
+            if (stopped) return;
+            stopped = true;
+            if (CURRENT.get() == this) {
+                if (parent != null) CURRENT.set(parent);
+                else CURRENT.remove();
+            }
+            if (parent != null) {
+                parent.statements += statements;
+                parent.jdbcNanos += jdbcNanos;
+                bySql.forEach((sql, count) -> parent.bySql.merge(sql, count, Integer::sum));
+            }
+        }
+
+        @Override
+        public void close() {
+            stop();
+        }
+    }
+}
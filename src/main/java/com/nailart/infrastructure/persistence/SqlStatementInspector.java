@@ -0,0 +1,15 @@
+package com.nailart.infrastructure.persistence;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Registra no {@link SqlBudget} da thread cada comando preparado pelo Hibernate; não altera o SQL.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlBudget.statement(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,33 @@
+package com.nailart.infrastructure.persistence;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Soma no {@link SqlBudget} o tempo de execução JDBC (comandos e batches) da sessão.
+ * Instanciado pelo Hibernate a cada sessão (hibernate.session.events.auto); a sessão é de uma thread só.
+ */
+public class SqlTimingListener implements SessionEventListener {
+
+    private long executeStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlBudget.jdbcTime(System.nanoTime() - executeStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlBudget.jdbcTime(System.nanoTime() - batchStart);
+    }
+}
@@ -0,0 +1,26 @@
+package com.nailart.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/** Linha única (id = 1) com a versão do catálogo público; só é alterada por {@code CatalogVersionJpaRepository.increment}. */
+@Entity
+@Table(name = "catalog_version")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogVersionEntity {
+
+    public static final short ID = 1;
+
+    @Id
+    private Short id;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,51 @@
+package com.nailart.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Totais financeiros de um dia, mantidos incrementalmente a cada escrita de agendamento ou despesa.
+ */
+@Entity
+@Table(name = "finance_daily_rollups")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FinanceDailyRollupEntity {
+
+    @Id
+    @Column(name = "day")
+    private LocalDate day;
+
+    @Column(name = "revenue_cents", nullable = false)
+    private Long revenueCents;
+
+    @Column(name = "cancellation_loss_cents", nullable = false)
+    private Long cancellationLossCents;
+
+    @Column(name = "no_show_loss_cents", nullable = false)
+    private Long noShowLossCents;
+
+    @Column(name = "expense_fixed_cents", nullable = false)
+    private Long expenseFixedCents;
+
+    @Column(name = "expense_variable_cents", nullable = false)
+    private Long expenseVariableCents;
+
+    @Column(name = "expense_materials_cents", nullable = false)
+    private Long expenseMaterialsCents;
+
+    @Column(name = "expense_employees_cents", nullable = false)
+    private Long expenseEmployeesCents;
+
+    @Column(name = "expense_other_cents", nullable = false)
+    private Long expenseOtherCents;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
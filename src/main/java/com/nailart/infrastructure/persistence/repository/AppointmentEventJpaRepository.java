@@ -0,0 +1,28 @@
+package com.nailart.infrastructure.persistence.repository;
+
+import com.nailart.infrastructure.persistence.entity.AppointmentEventEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface AppointmentEventJpaRepository extends JpaRepository<AppointmentEventEntity, Long> {
+
+    List<AppointmentEventEntity> findByPublishedAtIsNullOrderByIdAsc(Limit limit);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE AppointmentEventEntity e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") Instant publishedAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM AppointmentEventEntity e WHERE e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") Instant before);
+}
@@ -1,27 +1,114 @@
 package com.nailart.infrastructure.persistence.repository;
 
 import com.nailart.infrastructure.persistence.entity.AppointmentEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface AppointmentJpaRepository extends JpaRepository<AppointmentEntity, UUID> {
 
+    /** Keyset: (appointmentDate, startTime, id) estritamente maior que o cursor. */
+    String AFTER_CURSOR = "(a.appointmentDate, a.startTime, a.id) > (:afterDate, :afterTime, :afterId)";
+
+    /** Com funcionário e serviço carregados, para montar o DTO sem consultas extras. */
+    @EntityGraph(attributePaths = {"employee", "service"})
+    Optional<AppointmentEntity> findWithEmployeeAndServiceById(UUID id);
+
+    @EntityGraph(attributePaths = {"employee", "service"})
     List<AppointmentEntity> findByEmployeeIdAndAppointmentDateAndStatus(
             UUID employeeId, LocalDate appointmentDate, String status);
 
-    List<AppointmentEntity> findByClientUserIdAndAppointmentDateBetweenOrderByAppointmentDateAscStartTimeAsc(
-            UUID clientUserId, LocalDate start, LocalDate end);
-
+    @EntityGraph(attributePaths = {"employee", "service"})
     List<AppointmentEntity> findByEmployeeIdAndAppointmentDateBetweenOrderByAppointmentDateAscStartTimeAsc(
             UUID employeeId, LocalDate start, LocalDate end);
 
     @Query("SELECT a FROM AppointmentEntity a WHERE a.employee.id = :employeeId AND a.appointmentDate = :date AND a.status = 'CONFIRMED'")
     List<AppointmentEntity> findConfirmedByEmployeeAndDate(UUID employeeId, LocalDate date);
 
+    @Query("SELECT a FROM AppointmentEntity a WHERE a.employee.id = :employeeId AND a.appointmentDate BETWEEN :start AND :end AND a.status = 'CONFIRMED'")
+    List<AppointmentEntity> findConfirmedByEmployeeAndDateBetween(UUID employeeId, LocalDate start, LocalDate end);
+
+    @Query("SELECT a FROM AppointmentEntity a WHERE a.employee.id IN :employeeIds AND a.appointmentDate = :date AND a.status = 'CONFIRMED'")
+    List<AppointmentEntity> findConfirmedByEmployeesAndDate(Collection<UUID> employeeIds, LocalDate date);
+
+    @Query("SELECT a.employee.id AS employeeId, SUM(a.durationMin) AS bookedMinutes FROM AppointmentEntity a " +
+            "WHERE a.employee.id IN :employeeIds AND a.appointmentDate = :date AND a.status = 'CONFIRMED' GROUP BY a.employee.id")
+    List<EmployeeLoad> sumConfirmedMinutesByEmployee(Collection<UUID> employeeIds, LocalDate date);
+
+    @EntityGraph(attributePaths = {"employee", "service"})
     List<AppointmentEntity> findByAppointmentDateBetweenOrderByAppointmentDateAscStartTimeAsc(
             LocalDate start, LocalDate end);
+
+    @Query("SELECT a FROM AppointmentEntity a JOIN FETCH a.employee JOIN FETCH a.service WHERE a.clientUser.id = :clientUserId AND a.appointmentDate BETWEEN :start AND :end " +
+            "AND " + AFTER_CURSOR + " ORDER BY a.appointmentDate, a.startTime, a.id")
+    List<AppointmentEntity> findPageByClient(UUID clientUserId, LocalDate start, LocalDate end,
+                                             LocalDate afterDate, LocalTime afterTime, UUID afterId, Limit limit);
+
+    @Query("SELECT a FROM AppointmentEntity a JOIN FETCH a.employee JOIN FETCH a.service WHERE a.employee.id = :employeeId AND a.appointmentDate BETWEEN :start AND :end " +
+            "AND " + AFTER_CURSOR + " ORDER BY a.appointmentDate, a.startTime, a.id")
+    List<AppointmentEntity> findPageByEmployee(UUID employeeId, LocalDate start, LocalDate end,
+                                               LocalDate afterDate, LocalTime afterTime, UUID afterId, Limit limit);
+
+    @Query("SELECT a FROM AppointmentEntity a JOIN FETCH a.employee JOIN FETCH a.service WHERE a.appointmentDate BETWEEN :start AND :end " +
+            "AND " + AFTER_CURSOR + " ORDER BY a.appointmentDate, a.startTime, a.id")
+    List<AppointmentEntity> findPage(LocalDate start, LocalDate end,
+                                     LocalDate afterDate, LocalTime afterTime, UUID afterId, Limit limit);
+
+    @Query("SELECT a.appointmentDate AS day, a.status AS status, SUM(a.priceCents) AS totalCents FROM AppointmentEntity a " +
+            "WHERE a.appointmentDate BETWEEN :start AND :end GROUP BY a.appointmentDate, a.status")
+    List<DailyStatusTotal> sumPriceByDayAndStatus(LocalDate start, LocalDate end);
+
+    /** Para exportação: projeção sem entidades gerenciadas, lida em lotes do cursor. Consumir dentro de transação. */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a.id AS id, a.appointmentDate AS appointmentDate, a.startTime AS startTime, a.endTime AS endTime, " +
+            "a.status AS status, a.priceCents AS priceCents, a.durationMin AS durationMin, " +
+            "a.clientName AS clientName, a.clientEmail AS clientEmail, a.clientPhone AS clientPhone, " +
+            "e.fullName AS employeeName, s.name AS serviceName, a.cancelledAt AS cancelledAt, a.cancelReason AS cancelReason " +
+            "FROM AppointmentEntity a JOIN a.employee e JOIN a.service s " +
+            "WHERE a.appointmentDate BETWEEN :start AND :end ORDER BY a.appointmentDate, a.startTime, a.id")
+    Stream<ExportRow> streamForExport(LocalDate start, LocalDate end);
+
+    interface EmployeeLoad {
+        UUID getEmployeeId();
+        Long getBookedMinutes();
+    }
+
+    interface DailyStatusTotal {
+        LocalDate getDay();
+        String getStatus();
+        Long getTotalCents();
+    }
+
+    interface ExportRow {
+        UUID getId();
+        LocalDate getAppointmentDate();
+        LocalTime getStartTime();
+        LocalTime getEndTime();
+        String getStatus();
+        Integer getPriceCents();
+        Integer getDurationMin();
+        String getClientName();
+        String getClientEmail();
+        String getClientPhone();
+        String getEmployeeName();
+        String getServiceName();
+        Instant getCancelledAt();
+        String getCancelReason();
+    }
 }
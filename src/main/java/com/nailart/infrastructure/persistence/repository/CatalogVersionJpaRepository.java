@@ -0,0 +1,27 @@
+package com.nailart.infrastructure.persistence.repository;
+
+import com.nailart.infrastructure.persistence.entity.CatalogVersionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface CatalogVersionJpaRepository extends JpaRepository<CatalogVersionEntity, Short> {
+
+    /** Incrementa a versão; a linha fica travada até o fim da transação, serializando escritas no catálogo. */
+    @Modifying
+    @Query(value = "UPDATE catalog_version SET version = version + 1, updated_at = GREATEST(updated_at, :now) WHERE id = 1",
+            nativeQuery = true)
+    void increment(Instant now);
+
+    /** Valores da linha lidos do banco (não da entidade no contexto de persistência), inclusive após {@link #increment}. */
+    @Query("SELECT c.version AS version, c.updatedAt AS updatedAt FROM CatalogVersionEntity c WHERE c.id = 1")
+    Optional<Row> read();
+
+    interface Row {
+        Long getVersion();
+        Instant getUpdatedAt();
+    }
+}
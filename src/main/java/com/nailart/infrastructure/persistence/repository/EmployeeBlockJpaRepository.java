@@ -4,10 +4,15 @@ import com.nailart.infrastructure.persistence.entity.EmployeeBlockEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface EmployeeBlockJpaRepository extends JpaRepository<EmployeeBlockEntity, UUID> {
 
     List<EmployeeBlockEntity> findByEmployeeIdAndBlockDate(UUID employeeId, LocalDate blockDate);
+
+    List<EmployeeBlockEntity> findByEmployeeIdAndBlockDateBetween(UUID employeeId, LocalDate start, LocalDate end);
+
+    List<EmployeeBlockEntity> findByEmployeeIdInAndBlockDate(Collection<UUID> employeeIds, LocalDate blockDate);
 }
@@ -12,6 +12,9 @@ public interface EmployeeJpaRepository extends JpaRepository<EmployeeEntity, UUI
 
     Optional<EmployeeEntity> findByKeycloakId(String keycloakId);
 
+    @Query("SELECT e.id FROM EmployeeEntity e WHERE e.keycloakId = :keycloakId")
+    Optional<UUID> findIdByKeycloakId(String keycloakId);
+
     List<EmployeeEntity> findByActiveTrue();
 
     @Query("SELECT e FROM EmployeeEntity e JOIN e.services s WHERE s.id = :serviceId AND e.active = true")
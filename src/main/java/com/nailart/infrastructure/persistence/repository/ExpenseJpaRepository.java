@@ -1,13 +1,46 @@
 package com.nailart.infrastructure.persistence.repository;
 
 import com.nailart.infrastructure.persistence.entity.ExpenseEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface ExpenseJpaRepository extends JpaRepository<ExpenseEntity, UUID> {
 
     List<ExpenseEntity> findByExpenseDateBetweenOrderByExpenseDateAsc(LocalDate start, LocalDate end);
+
+    @Query("SELECT e.expenseDate AS day, e.category AS category, SUM(e.amountCents) AS totalCents FROM ExpenseEntity e " +
+            "WHERE e.expenseDate BETWEEN :start AND :end GROUP BY e.expenseDate, e.category")
+    List<DailyCategoryTotal> sumAmountByDayAndCategory(LocalDate start, LocalDate end);
+
+    /** Para exportação: projeção sem entidades gerenciadas, lida em lotes do cursor. Consumir dentro de transação. */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e.id AS id, e.expenseDate AS expenseDate, e.category AS category, e.amountCents AS amountCents, " +
+            "e.description AS description FROM ExpenseEntity e " +
+            "WHERE e.expenseDate BETWEEN :start AND :end ORDER BY e.expenseDate, e.id")
+    Stream<ExportRow> streamForExport(LocalDate start, LocalDate end);
+
+    interface DailyCategoryTotal {
+        LocalDate getDay();
+        String getCategory();
+        Long getTotalCents();
+    }
+
+    interface ExportRow {
+        UUID getId();
+        LocalDate getExpenseDate();
+        String getCategory();
+        Integer getAmountCents();
+        String getDescription();
+    }
 }
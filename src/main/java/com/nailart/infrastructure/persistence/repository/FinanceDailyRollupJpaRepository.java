@@ -0,0 +1,55 @@
+package com.nailart.infrastructure.persistence.repository;
+
+import com.nailart.infrastructure.persistence.entity.FinanceDailyRollupEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface FinanceDailyRollupJpaRepository extends JpaRepository<FinanceDailyRollupEntity, LocalDate> {
+
+    List<FinanceDailyRollupEntity> findByDayBetweenOrderByDayAsc(LocalDate start, LocalDate end);
+
+    @Query("SELECT COALESCE(SUM(r.revenueCents), 0) AS revenueCents, " +
+            "COALESCE(SUM(r.cancellationLossCents), 0) AS cancellationLossCents, " +
+            "COALESCE(SUM(r.noShowLossCents), 0) AS noShowLossCents, " +
+            "COALESCE(SUM(r.expenseFixedCents), 0) AS expenseFixedCents, " +
+            "COALESCE(SUM(r.expenseVariableCents), 0) AS expenseVariableCents, " +
+            "COALESCE(SUM(r.expenseMaterialsCents), 0) AS expenseMaterialsCents, " +
+            "COALESCE(SUM(r.expenseEmployeesCents), 0) AS expenseEmployeesCents, " +
+            "COALESCE(SUM(r.expenseOtherCents), 0) AS expenseOtherCents " +
+            "FROM FinanceDailyRollupEntity r WHERE r.day BETWEEN :start AND :end")
+    Totals sumBetween(LocalDate start, LocalDate end);
+
+    /** Soma os deltas ao dia, criando a linha se ainda não existir. Atômico por linha. */
+    @Modifying
+    @Query(value = "INSERT INTO finance_daily_rollups AS r (day, revenue_cents, cancellation_loss_cents, no_show_loss_cents, " +
+            "expense_fixed_cents, expense_variable_cents, expense_materials_cents, expense_employees_cents, expense_other_cents, updated_at) " +
+            "VALUES (:day, :revenue, :cancellationLoss, :noShowLoss, :fixed, :variable, :materials, :employees, :other, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (day) DO UPDATE SET " +
+            "revenue_cents = r.revenue_cents + EXCLUDED.revenue_cents, " +
+            "cancellation_loss_cents = r.cancellation_loss_cents + EXCLUDED.cancellation_loss_cents, " +
+            "no_show_loss_cents = r.no_show_loss_cents + EXCLUDED.no_show_loss_cents, " +
+            "expense_fixed_cents = r.expense_fixed_cents + EXCLUDED.expense_fixed_cents, " +
+            "expense_variable_cents = r.expense_variable_cents + EXCLUDED.expense_variable_cents, " +
+            "expense_materials_cents = r.expense_materials_cents + EXCLUDED.expense_materials_cents, " +
+            "expense_employees_cents = r.expense_employees_cents + EXCLUDED.expense_employees_cents, " +
+            "expense_other_cents = r.expense_other_cents + EXCLUDED.expense_other_cents, " +
+            "updated_at = CURRENT_TIMESTAMP",
+            nativeQuery = true)
+    void addDelta(LocalDate day, long revenue, long cancellationLoss, long noShowLoss,
+                  long fixed, long variable, long materials, long employees, long other);
+
+    interface Totals {
+        Long getRevenueCents();
+        Long getCancellationLossCents();
+        Long getNoShowLossCents();
+        Long getExpenseFixedCents();
+        Long getExpenseVariableCents();
+        Long getExpenseMaterialsCents();
+        Long getExpenseEmployeesCents();
+        Long getExpenseOtherCents();
+    }
+}
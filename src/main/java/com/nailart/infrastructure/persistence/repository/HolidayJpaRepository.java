@@ -4,10 +4,13 @@ import com.nailart.infrastructure.persistence.entity.HolidayEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface HolidayJpaRepository extends JpaRepository<HolidayEntity, UUID> {
 
     Optional<HolidayEntity> findByHolidayDate(LocalDate date);
+
+    List<HolidayEntity> findByHolidayDateBetween(LocalDate start, LocalDate end);
 }
@@ -2,6 +2,7 @@ package com.nailart.infrastructure.persistence.repository;
 
 import com.nailart.infrastructure.persistence.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -10,6 +11,9 @@ public interface UserJpaRepository extends JpaRepository<UserEntity, UUID> {
 
     Optional<UserEntity> findByKeycloakId(String keycloakId);
 
+    @Query("SELECT u.id FROM UserEntity u WHERE u.keycloakId = :keycloakId")
+    Optional<UUID> findIdByKeycloakId(String keycloakId);
+
     boolean existsByKeycloakId(String keycloakId);
 
     boolean existsByEmail(String email);
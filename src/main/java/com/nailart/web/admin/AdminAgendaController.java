@@ -1,10 +1,12 @@
 package com.nailart.web.admin;
 
+import com.nailart.application.scheduling.AppointmentCursor;
 import com.nailart.application.scheduling.SchedulingService;
 import com.nailart.infrastructure.persistence.entity.AppointmentEntity;
 import com.nailart.web.dto.AppointmentDto;
 import com.nailart.web.mapper.DtoMapper;
-import com.nailart.web.support.CurrentUser;
+import com.nailart.web.support.PageHeaders;
+import com.nailart.web.support.PrincipalResolver;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,6 +15,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
@@ -28,16 +31,27 @@ import java.util.UUID;
 public class AdminAgendaController {
 
     private final SchedulingService schedulingService;
+    private final PrincipalResolver principal;
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    @Operation(summary = "Agenda por dia", description = "Lista agendamentos de uma data. Se employeeId for informado, filtra por esse funcionário; senão, retorna todos.")
-    @ApiResponses({ @ApiResponse(responseCode = "200", description = "Lista de agendamentos") })
-    public List<AppointmentDto> getAgenda(
+    @Operation(
+            summary = "Agenda por dia",
+            description = "Lista agendamentos de uma data, por horário. Se employeeId for informado, filtra por esse funcionário; senão, retorna todos. " +
+                    "Paginado por cursor: se houver mais itens, o header X-Next-Cursor traz o valor para o parâmetro cursor da próxima página."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Lista de agendamentos"),
+            @ApiResponse(responseCode = "400", description = "limit fora de 1..500 ou cursor inválido")
+    })
+    public ResponseEntity<List<AppointmentDto>> getAgenda(
             @Parameter(description = "Data (YYYY-MM-DD)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
-            @Parameter(description = "UUID do funcionário (opcional)") @RequestParam(required = false) UUID employeeId
+            @Parameter(description = "UUID do funcionário (opcional)") @RequestParam(required = false) UUID employeeId,
+            @Parameter(description = "Itens por página (1 a 500)") @RequestParam(defaultValue = "100") int limit,
+            @Parameter(description = "Valor de X-Next-Cursor da página anterior") @RequestParam(required = false) String cursor
     ) {
-        List<AppointmentEntity> list = schedulingService.getAgendaForDay(date, employeeId);
-        return list.stream().map(DtoMapper::toAppointmentDto).toList();
+        AppointmentCursor after = cursor != null ? AppointmentCursor.decode(cursor) : null;
+        SchedulingService.AppointmentPage page = schedulingService.getAgendaPage(date, employeeId, after, limit);
+        return PageHeaders.withNextCursor(page.next(), page.items().stream().map(DtoMapper::toAppointmentDto).toList());
     }
 
     @PostMapping(value = "/appointments/{id}/substitute", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -48,12 +62,13 @@ public class AdminAgendaController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Agendamento atualizado"),
             @ApiResponse(responseCode = "404", description = "Agendamento não encontrado"),
+            @ApiResponse(responseCode = "409", description = "Novo funcionário tem conflito no horário"),
             @ApiResponse(responseCode = "422", description = "Agendamento não confirmado, conflito ou funcionário não atende o serviço")
     })
     public AppointmentDto substituteEmployee(
             @Parameter(description = "UUID do agendamento", required = true) @PathVariable UUID id,
             @RequestBody SubstituteRequest request) {
-        String substitutedBy = CurrentUser.getKeycloakIdOrThrow();
+        String substitutedBy = principal.keycloakId();
         AppointmentEntity a = schedulingService.substituteEmployee(id, request.getNewEmployeeId(), substitutedBy);
         return DtoMapper.toAppointmentDto(a);
     }
@@ -1,11 +1,16 @@
 package com.nailart.web.admin;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nailart.application.finance.FinanceExportService;
 import com.nailart.application.finance.FinanceService;
 import com.nailart.domain.ExpenseCategory;
+import com.nailart.domain.FinanceGranularity;
 import com.nailart.infrastructure.persistence.entity.ExpenseEntity;
 import com.nailart.web.dto.ExpenseDto;
 import com.nailart.web.dto.FinanceDashboardDto;
+import com.nailart.web.dto.FinanceSeriesPointDto;
 import com.nailart.web.mapper.DtoMapper;
+import com.nailart.web.support.TabularExportWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -16,11 +21,17 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
@@ -29,10 +40,18 @@ import java.util.UUID;
 @RequestMapping("/api/admin/finance")
 @RequiredArgsConstructor
 @PreAuthorize("hasRole('MANAGER') or hasRole('ADMIN')")
-@Tag(name = "7. Admin - Financeiro", description = "Dashboard financeiro (receita, perdas, despesas por categoria, lucro) e CRUD de despesas. Valores em centavos. Exige **manager** ou **admin**.")
+@Tag(name = "7. Admin - Financeiro", description = "Dashboard financeiro (receita, perdas, despesas por categoria, lucro), série por dia/semana/mês, exportação CSV/NDJSON e CRUD de despesas. Valores em centavos. Exige **manager** ou **admin**.")
 public class AdminFinanceController {
 
+    private static final List<String> APPOINTMENT_COLUMNS = List.of(
+            "id", "appointmentDate", "startTime", "endTime", "status", "priceCents", "durationMin",
+            "clientName", "clientEmail", "clientPhone", "employeeName", "serviceName", "cancelledAt", "cancelReason");
+    private static final List<String> EXPENSE_COLUMNS = List.of(
+            "id", "expenseDate", "category", "amountCents", "description");
+
     private final FinanceService financeService;
+    private final FinanceExportService exportService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping(value = "/dashboard", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(
@@ -50,6 +69,29 @@ public class AdminFinanceController {
         return DtoMapper.toFinanceDashboardDto(d);
     }
 
+    @GetMapping(value = "/series", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Série financeira",
+            description = "Mesmos totais do dashboard, por dia, semana (segunda a domingo) ou mês, para montar gráficos " +
+                    "em uma única chamada. Buckets nas bordas são recortados a from/to. Máximo de 400 buckets."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Lista de buckets em ordem cronológica"),
+            @ApiResponse(responseCode = "400", description = "Período ou granularidade inválidos")
+    })
+    public List<FinanceSeriesPointDto> getSeries(
+            @Parameter(description = "Data inicial (YYYY-MM-DD)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Data final (YYYY-MM-DD)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "DAY, WEEK ou MONTH", example = "MONTH")
+            @RequestParam(defaultValue = "MONTH") FinanceGranularity granularity
+    ) {
+        return financeService.getSeries(from, to, granularity).stream()
+                .map(DtoMapper::toFinanceSeriesPointDto)
+                .toList();
+    }
+
     @GetMapping(value = "/expenses", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Listar despesas no período")
     public List<ExpenseDto> listExpenses(
@@ -59,6 +101,55 @@ public class AdminFinanceController {
         return financeService.listExpenses(from, to).stream().map(DtoMapper::toExpenseDto).toList();
     }
 
+    @GetMapping("/export/appointments")
+    @Operation(
+            summary = "Exportar agendamentos",
+            description = "Agendamentos do período (todos os status) em CSV ou NDJSON, enviados em streaming: " +
+                    "memória constante independentemente do período. Com gzip=true, o arquivo vem compactado (.gz)."
+    )
+    @ApiResponses({ @ApiResponse(responseCode = "200", description = "Arquivo de exportação") })
+    public ResponseEntity<StreamingResponseBody> exportAppointments(
+            @Parameter(description = "Data inicial (YYYY-MM-DD)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Data final (YYYY-MM-DD)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "CSV ou NDJSON") @RequestParam(defaultValue = "CSV") TabularExportWriter.Format format,
+            @Parameter(description = "Compactar com gzip") @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        StreamingResponseBody body = out -> {
+            var writer = new TabularExportWriter(format, APPOINTMENT_COLUMNS, out, gzip, objectMapper);
+            exportService.forEachAppointment(from, to, r -> writeRow(writer,
+                    r.getId(), r.getAppointmentDate(), r.getStartTime(), r.getEndTime(), r.getStatus(),
+                    r.getPriceCents(), r.getDurationMin(), r.getClientName(), r.getClientEmail(), r.getClientPhone(),
+                    r.getEmployeeName(), r.getServiceName(), r.getCancelledAt(), r.getCancelReason()));
+            writer.finish();
+        };
+        return exportResponse(body, format, gzip, "agendamentos_" + from + "_" + to);
+    }
+
+    @GetMapping("/export/expenses")
+    @Operation(
+            summary = "Exportar despesas",
+            description = "Despesas do período em CSV ou NDJSON, enviadas em streaming. Com gzip=true, o arquivo vem compactado (.gz)."
+    )
+    @ApiResponses({ @ApiResponse(responseCode = "200", description = "Arquivo de exportação") })
+    public ResponseEntity<StreamingResponseBody> exportExpenses(
+            @Parameter(description = "Data inicial (YYYY-MM-DD)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Data final (YYYY-MM-DD)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "CSV ou NDJSON") @RequestParam(defaultValue = "CSV") TabularExportWriter.Format format,
+            @Parameter(description = "Compactar com gzip") @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        StreamingResponseBody body = out -> {
+            var writer = new TabularExportWriter(format, EXPENSE_COLUMNS, out, gzip, objectMapper);
+            exportService.forEachExpense(from, to, r -> writeRow(writer,
+                    r.getId(), r.getExpenseDate(), r.getCategory(), r.getAmountCents(), r.getDescription()));
+            writer.finish();
+        };
+        return exportResponse(body, format, gzip, "despesas_" + from + "_" + to);
+    }
+
     @PostMapping(value = "/expenses", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Registrar despesa")
@@ -94,6 +185,25 @@ public class AdminFinanceController {
         financeService.deleteExpense(id);
     }
 
+    private static void writeRow(TabularExportWriter writer, Object... values) {
+        try {
+            writer.writeRow(values);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ResponseEntity<StreamingResponseBody> exportResponse(
+            StreamingResponseBody body, TabularExportWriter.Format format, boolean gzip, String baseName) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.contentType(gzip)))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(format.fileName(baseName, gzip))
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
     private static void validateCategory(String category) {
         try {
             ExpenseCategory.valueOf(category);
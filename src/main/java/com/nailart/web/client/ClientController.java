@@ -1,28 +1,31 @@
 package com.nailart.web.client;
 
+import com.nailart.application.scheduling.AppointmentCursor;
 import com.nailart.application.scheduling.SchedulingService;
+import com.nailart.application.scheduling.SlotHoldRegistry;
 import com.nailart.application.users.UserService;
 import com.nailart.infrastructure.persistence.entity.AppointmentEntity;
 import com.nailart.infrastructure.persistence.entity.UserEntity;
 import com.nailart.web.dto.AppointmentDto;
 import com.nailart.web.dto.CreateAppointmentRequest;
+import com.nailart.web.dto.CreateSlotHoldRequest;
+import com.nailart.web.dto.SlotHoldDto;
 import com.nailart.web.dto.UserDto;
 import com.nailart.web.mapper.DtoMapper;
-import com.nailart.web.support.CurrentUser;
+import com.nailart.web.support.CurrentClientId;
+import com.nailart.web.support.PageHeaders;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.jwt.Jwt;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
@@ -46,11 +49,8 @@ public class ClientController {
             @ApiResponse(responseCode = "200", description = "Perfil do cliente"),
             @ApiResponse(responseCode = "401", description = "Não autenticado")
     })
-    public UserDto getProfile() {
-        String keycloakId = CurrentUser.getKeycloakIdOrThrow();
-        UserEntity user = userService.findByKeycloakId(keycloakId)
-                .orElseGet(() -> syncUserFromJwt(keycloakId));
-        return DtoMapper.toUserDto(user);
+    public UserDto getProfile(@CurrentClientId(createIfMissing = true) UUID clientId) {
+        return DtoMapper.toUserDto(userService.getById(clientId));
     }
 
     @PutMapping(value = "/profile", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -59,11 +59,8 @@ public class ClientController {
             @ApiResponse(responseCode = "200", description = "Perfil atualizado"),
             @ApiResponse(responseCode = "401", description = "Não autenticado")
     })
-    public UserDto updateProfile(@RequestBody UpdateProfileRequest request) {
-        String keycloakId = CurrentUser.getKeycloakIdOrThrow();
-        UserEntity user = userService.findByKeycloakId(keycloakId)
-                .orElseThrow(() -> new IllegalStateException("Perfil não encontrado."));
-        UserEntity updated = userService.updateProfile(user.getId(), request.getFullName(), request.getPhone());
+    public UserDto updateProfile(@CurrentClientId UUID clientId, @RequestBody UpdateProfileRequest request) {
+        UserEntity updated = userService.updateProfile(clientId, request.getFullName(), request.getPhone());
         return DtoMapper.toUserDto(updated);
     }
 
@@ -72,44 +69,95 @@ public class ClientController {
     @Operation(
             summary = "Criar agendamento",
             description = "Cria um agendamento para o cliente autenticado. Horário deve estar em GET /api/public/availability. " +
+                    "Sem employeeId, o horário deve estar em GET /api/public/availability/any e o funcionário livre com menor carga é atribuído. " +
+                    "Com holdToken (POST /api/client/holds), usa o funcionário e horário reservados. " +
                     "Valida conflitos e disponibilidade antes de salvar."
     )
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "Agendamento criado (CONFIRMED)"),
             @ApiResponse(responseCode = "400", description = "Dados inválidos"),
-            @ApiResponse(responseCode = "422", description = "Cliente bloqueado, horário indisponível ou conflito"),
+            @ApiResponse(responseCode = "409", description = "Horário ocupado ou reservado por outro cliente (concorrência)"),
+            @ApiResponse(responseCode = "422", description = "Cliente bloqueado ou horário indisponível"),
             @ApiResponse(responseCode = "401", description = "Não autenticado")
     })
-    public AppointmentDto createAppointment(@Valid @RequestBody CreateAppointmentRequest request) {
-        String keycloakId = CurrentUser.getKeycloakIdOrThrow();
-        UserEntity user = userService.findByKeycloakId(keycloakId)
-                .orElseGet(() -> syncUserFromJwt(keycloakId));
+    public AppointmentDto createAppointment(@CurrentClientId(createIfMissing = true) UUID clientId,
+                                            @Valid @RequestBody CreateAppointmentRequest request) {
         AppointmentEntity a = schedulingService.createAppointment(
-                user.getId(),
+                clientId,
                 request.getEmployeeId(),
                 request.getServiceId(),
                 request.getAppointmentDate(),
                 request.getStartTime(),
-                request.getOptionIds()
+                request.getOptionIds(),
+                request.getHoldToken()
         );
         return DtoMapper.toAppointmentDto(a);
     }
 
+    @PostMapping(value = "/holds", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(
+            summary = "Reservar horário",
+            description = "Reserva o horário por alguns minutos enquanto o cliente conclui o agendamento. " +
+                    "O horário deixa de aparecer na disponibilidade para os demais clientes. " +
+                    "Cada cliente mantém uma reserva por vez; uma nova substitui a anterior. " +
+                    "Envie o token retornado como holdToken em POST /api/client/appointments."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Horário reservado"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos"),
+            @ApiResponse(responseCode = "409", description = "Horário já reservado por outro cliente"),
+            @ApiResponse(responseCode = "422", description = "Cliente bloqueado ou horário indisponível"),
+            @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public SlotHoldDto holdSlot(@CurrentClientId(createIfMissing = true) UUID clientId,
+                                @Valid @RequestBody CreateSlotHoldRequest request) {
+        SlotHoldRegistry.SlotHold hold = schedulingService.holdSlot(
+                clientId,
+                request.getEmployeeId(),
+                request.getServiceId(),
+                request.getAppointmentDate(),
+                request.getStartTime()
+        );
+        return DtoMapper.toSlotHoldDto(hold);
+    }
+
+    @DeleteMapping("/holds/{token}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Liberar reserva", description = "Libera a reserva de horário antes de expirar.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Reserva liberada"),
+            @ApiResponse(responseCode = "403", description = "Reserva não pertence ao cliente"),
+            @ApiResponse(responseCode = "404", description = "Reserva não encontrada ou expirada"),
+            @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public void releaseHold(
+            @CurrentClientId UUID clientId,
+            @Parameter(description = "Token da reserva", required = true) @PathVariable UUID token) {
+        schedulingService.releaseHold(token, clientId);
+    }
+
     @GetMapping(value = "/appointments", produces = MediaType.APPLICATION_JSON_VALUE)
-    @Operation(summary = "Listar meus agendamentos", description = "Lista agendamentos do cliente no período (from/to).")
+    @Operation(
+            summary = "Listar meus agendamentos",
+            description = "Lista agendamentos do cliente no período (from/to), por data e horário. " +
+                    "Paginado por cursor: se houver mais itens, o header X-Next-Cursor traz o valor para o parâmetro cursor da próxima página."
+    )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Lista de agendamentos"),
+            @ApiResponse(responseCode = "400", description = "limit fora de 1..500 ou cursor inválido"),
             @ApiResponse(responseCode = "401", description = "Não autenticado")
     })
-    public List<AppointmentDto> listMyAppointments(
+    public ResponseEntity<List<AppointmentDto>> listMyAppointments(
+            @CurrentClientId UUID clientId,
             @Parameter(description = "Data inicial (YYYY-MM-DD)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
-            @Parameter(description = "Data final (YYYY-MM-DD)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+            @Parameter(description = "Data final (YYYY-MM-DD)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Itens por página (1 a 500)") @RequestParam(defaultValue = "100") int limit,
+            @Parameter(description = "Valor de X-Next-Cursor da página anterior") @RequestParam(required = false) String cursor
     ) {
-        String keycloakId = CurrentUser.getKeycloakIdOrThrow();
-        UserEntity user = userService.findByKeycloakId(keycloakId)
-                .orElseThrow(() -> new IllegalStateException("Perfil não encontrado."));
-        List<AppointmentEntity> list = schedulingService.getAppointmentsByClient(user.getId(), from, to);
-        return list.stream().map(DtoMapper::toAppointmentDto).toList();
+        AppointmentCursor after = cursor != null ? AppointmentCursor.decode(cursor) : null;
+        SchedulingService.AppointmentPage page = schedulingService.getAppointmentsByClient(clientId, from, to, after, limit);
+        return PageHeaders.withNextCursor(page.next(), page.items().stream().map(DtoMapper::toAppointmentDto).toList());
     }
 
     @PostMapping(value = "/appointments/{id}/cancel", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -125,22 +173,9 @@ public class ClientController {
             @ApiResponse(responseCode = "401", description = "Não autenticado")
     })
     public void cancelAppointment(
+            @CurrentClientId UUID clientId,
             @Parameter(description = "UUID do agendamento", required = true) @PathVariable UUID id) {
-        String keycloakId = CurrentUser.getKeycloakIdOrThrow();
-        UserEntity user = userService.findByKeycloakId(keycloakId)
-                .orElseThrow(() -> new IllegalStateException("Perfil não encontrado."));
-        schedulingService.cancelByClient(id, user.getId());
-    }
-
-    private UserEntity syncUserFromJwt(String keycloakId) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String email = keycloakId;
-        String fullName = "Cliente";
-        if (auth != null && auth.getPrincipal() instanceof Jwt jwt) {
-            email = jwt.getClaim("email") != null ? jwt.getClaim("email") : keycloakId;
-            fullName = jwt.getClaim("name") != null ? jwt.getClaim("name") : (jwt.getClaim("preferred_username") != null ? jwt.getClaim("preferred_username") : "Cliente");
-        }
-        return userService.createOrUpdateFromKeycloak(keycloakId, email, fullName, null);
+        schedulingService.cancelByClient(id, clientId);
     }
 
     @lombok.Data
@@ -0,0 +1,26 @@
+package com.nailart.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@Schema(description = "Alteração nos horários disponíveis de uma assinatura (serviço, funcionário, data)")
+public class AvailabilityDiffDto {
+    @Schema(description = "ID do serviço")
+    private UUID serviceId;
+    @Schema(description = "ID do funcionário; nulo quando a assinatura é para qualquer funcionário")
+    private UUID employeeId;
+    @Schema(description = "Data (YYYY-MM-DD)", example = "2025-02-15")
+    private LocalDate date;
+    @Schema(description = "Horários que passaram a estar disponíveis")
+    private List<LocalTime> added;
+    @Schema(description = "Horários que deixaram de estar disponíveis")
+    private List<LocalTime> removed;
+}
@@ -12,8 +12,7 @@ import java.util.UUID;
 @Data
 @Schema(description = "Dados para criar um novo agendamento. Cliente deve estar autenticado.")
 public class CreateAppointmentRequest {
-    @NotNull(message = "employeeId é obrigatório")
-    @Schema(description = "ID do funcionário", requiredMode = Schema.RequiredMode.REQUIRED)
+    @Schema(description = "ID do funcionário. Se omitido, atribui o funcionário livre com menor carga no dia")
     private UUID employeeId;
     @NotNull(message = "serviceId é obrigatório")
     @Schema(description = "ID do serviço", requiredMode = Schema.RequiredMode.REQUIRED)
@@ -26,4 +25,6 @@ public class CreateAppointmentRequest {
     private LocalTime startTime;
     @Schema(description = "IDs das opções adicionais do serviço (opcional)")
     private List<UUID> optionIds;
+    @Schema(description = "Token de POST /api/client/holds (opcional). Com ele, o horário reservado é usado")
+    private UUID holdToken;
 }
@@ -0,0 +1,19 @@
+package com.nailart.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@Schema(description = "Totais financeiros de um bucket da série (valores em centavos)")
+public class FinanceSeriesPointDto {
+    @Schema(description = "Primeiro dia do bucket (recortado ao período consultado)", example = "2025-02-01")
+    private LocalDate from;
+    @Schema(description = "Último dia do bucket (recortado ao período consultado)", example = "2025-02-28")
+    private LocalDate to;
+    @Schema(description = "Totais do bucket")
+    private FinanceDashboardDto totals;
+}
@@ -0,0 +1,26 @@
+package com.nailart.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@Schema(description = "Reserva temporária de horário")
+public class SlotHoldDto {
+    @Schema(description = "Token da reserva; enviar como holdToken ao criar o agendamento")
+    private UUID token;
+    @Schema(description = "ID do funcionário reservado")
+    private UUID employeeId;
+    @Schema(description = "Data reservada (YYYY-MM-DD)", example = "2025-02-15")
+    private LocalDate appointmentDate;
+    @Schema(description = "Hora de início", example = "10:00")
+    private LocalTime startTime;
+    @Schema(description = "Instante em que a reserva expira")
+    private Instant expiresAt;
+}
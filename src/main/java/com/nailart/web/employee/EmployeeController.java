@@ -6,7 +6,7 @@ import com.nailart.infrastructure.persistence.entity.AppointmentEntity;
 import com.nailart.infrastructure.persistence.entity.EmployeeEntity;
 import com.nailart.web.dto.AppointmentDto;
 import com.nailart.web.mapper.DtoMapper;
-import com.nailart.web.support.CurrentUser;
+import com.nailart.web.support.PrincipalResolver;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -31,6 +31,7 @@ public class EmployeeController {
 
     private final EmployeeService employeeService;
     private final SchedulingService schedulingService;
+    private final PrincipalResolver principal;
 
     @GetMapping(value = "/me", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Meus dados", description = "Retorna os dados do funcionário associado ao usuário autenticado (keycloak_id).")
@@ -40,11 +41,7 @@ public class EmployeeController {
             @ApiResponse(responseCode = "404", description = "Funcionário não encontrado para este usuário")
     })
     public com.nailart.web.dto.EmployeeDto getMe() {
-        String keycloakId = CurrentUser.getKeycloakIdOrThrow();
-        EmployeeEntity e = employeeService.listAll().stream()
-                .filter(emp -> keycloakId.equals(emp.getKeycloakId()))
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("Funcionário não encontrado para este usuário."));
+        EmployeeEntity e = employeeService.getById(principal.employeeIdOrThrow());
         return DtoMapper.toEmployeeDto(e);
     }
 
@@ -52,18 +49,14 @@ public class EmployeeController {
     @Operation(summary = "Minha agenda", description = "Lista os agendamentos do funcionário logado em uma data.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Lista de agendamentos do dia"),
-            @ApiResponse(responseCode = "401", description = "Não autenticado")
+            @ApiResponse(responseCode = "401", description = "Não autenticado"),
+            @ApiResponse(responseCode = "404", description = "Funcionário não encontrado para este usuário")
     })
     public List<AppointmentDto> getMyAgenda(
             @Parameter(description = "Data (YYYY-MM-DD)", required = true, example = "2025-02-15")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
     ) {
-        String keycloakId = CurrentUser.getKeycloakIdOrThrow();
-        EmployeeEntity e = employeeService.listAll().stream()
-                .filter(emp -> keycloakId.equals(emp.getKeycloakId()))
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("Funcionário não encontrado."));
-        List<AppointmentEntity> list = schedulingService.getAgendaForDay(date, e.getId());
+        List<AppointmentEntity> list = schedulingService.getAgendaForDay(date, principal.employeeIdOrThrow());
         return list.stream().map(DtoMapper::toAppointmentDto).toList();
     }
 }
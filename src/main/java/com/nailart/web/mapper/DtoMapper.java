@@ -1,8 +1,11 @@
 package com.nailart.web.mapper;
 
+import com.nailart.application.finance.FinanceService.FinanceBucket;
+import com.nailart.application.scheduling.SlotHoldRegistry.SlotHold;
 import com.nailart.infrastructure.persistence.entity.*;
 import com.nailart.web.dto.*;
 
+import java.time.LocalTime;
 import java.util.List;
 
 public final class DtoMapper {
@@ -104,4 +107,22 @@ public final class DtoMapper {
                 .lucro(d.lucro())
                 .build();
     }
+
+    public static FinanceSeriesPointDto toFinanceSeriesPointDto(FinanceBucket b) {
+        return FinanceSeriesPointDto.builder()
+                .from(b.start())
+                .to(b.end())
+                .totals(toFinanceDashboardDto(b.totals()))
+                .build();
+    }
+
+    public static SlotHoldDto toSlotHoldDto(SlotHold h) {
+        return SlotHoldDto.builder()
+                .token(h.token())
+                .employeeId(h.employeeId())
+                .appointmentDate(h.date())
+                .startTime(LocalTime.of(h.startMinute() / 60, h.startMinute() % 60))
+                .expiresAt(h.expiresAt())
+                .build();
+    }
 }
@@ -0,0 +1,234 @@
+package com.nailart.web.publicapi;
+
+import com.nailart.application.scheduling.AvailabilityChangedEvent;
+import com.nailart.application.scheduling.AvailabilityService;
+import com.nailart.web.dto.AvailabilityDiffDto;
+import com.nailart.web.support.CapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Distribui alterações de disponibilidade via SSE. Eventos só marcam o funcionário/dia como alterado;
+ * a cada flush, cada tópico afetado é recalculado uma única vez e o diff é enviado a todos os seus assinantes.
+ * Snapshot, registro de assinante e flush de um tópico acontecem sob o lock do {@link TopicState}, de modo que
+ * o primeiro diff recebido parte exatamente do snapshot enviado.
+ */
+@Slf4j
+@Component
+public class AvailabilityStreamHub {
+
+    private final AvailabilityService availabilityService;
+    private final Duration emitterTimeout;
+    private final int maxSubscribers;
+    private final int maxSubscribersPerTopic;
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Map<Topic, TopicState> topics = new ConcurrentHashMap<>();
+    private final Set<DayKey> dirty = ConcurrentHashMap.newKeySet();
+    private final Counter recomputations;
+
+    public AvailabilityStreamHub(
+            AvailabilityService availabilityService,
+            MeterRegistry meterRegistry,
+            @Value("${nailart.availability.stream.timeout:30m}") Duration emitterTimeout,
+            @Value("${nailart.availability.stream.max-subscribers:2000}") int maxSubscribers,
+            @Value("${nailart.availability.stream.max-subscribers-per-topic:200}") int maxSubscribersPerTopic
+    ) {
+        this.availabilityService = availabilityService;
+        this.emitterTimeout = emitterTimeout;
+        this.maxSubscribers = maxSubscribers;
+        this.maxSubscribersPerTopic = maxSubscribersPerTopic;
+        Gauge.builder("availability.stream.subscribers", subscribers, AtomicInteger::get).register(meterRegistry);
+        this.recomputations = Counter.builder("availability.stream.recomputations").register(meterRegistry);
+    }
+
+    /**
+     * Abre a assinatura e envia o estado atual como evento {@code snapshot}. {@code employeeId} nulo assina a
+     * união de todos os funcionários do serviço. Serviço ou funcionário inexistente lança antes de abrir o stream;
+     * acima do limite global ou do tópico lança {@link CapacityExceededException} (503).
+     */
+    public SseEmitter subscribe(UUID serviceId, UUID employeeId, LocalDate date) {
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            throw new CapacityExceededException("Limite de acompanhamentos de disponibilidade atingido");
+        }
+        try {
+            return register(new Topic(serviceId, employeeId, date));
+        } catch (RuntimeException e) {
+            subscribers.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private SseEmitter register(Topic topic) {
+        while (true) {
+            TopicState state = topics.computeIfAbsent(topic, t -> new TopicState());
+            state.lock.lock();
+            try {
+                // Último assinante saiu entre o computeIfAbsent e o lock: o estado já foi descartado
+                if (state.retired) continue;
+                if (state.emitters.size() >= maxSubscribersPerTopic) {
+                    throw new CapacityExceededException("Limite de acompanhamentos desta agenda atingido");
+                }
+                if (state.slots == null) {
+                    try {
+                        state.slots = compute(topic);
+                    } catch (RuntimeException e) {
+                        retire(topic, state);
+                        throw e;
+                    }
+                }
+                SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+                state.emitters.add(emitter);
+                Runnable remove = () -> unsubscribe(topic, emitter);
+                emitter.onCompletion(remove);
+                emitter.onTimeout(remove);
+                emitter.onError(e -> remove.run());
+                send(topic, emitter, "snapshot", state.slots);
+                return emitter;
+            } finally {
+                state.lock.unlock();
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+        dirty.add(new DayKey(event.employeeId(), event.date()));
+    }
+
+    @Scheduled(fixedDelayString = "${nailart.availability.stream.flush-interval:PT1S}")
+    public void flush() {
+        if (dirty.isEmpty()) return;
+        Set<DayKey> changed = new HashSet<>();
+        for (Iterator<DayKey> it = dirty.iterator(); it.hasNext(); ) {
+            changed.add(it.next());
+            it.remove();
+        }
+        for (Map.Entry<Topic, TopicState> entry : topics.entrySet()) {
+            Topic topic = entry.getKey();
+            if (!topic.affectedBy(changed)) continue;
+            TopicState state = entry.getValue();
+            state.lock.lock();
+            try {
+                if (state.retired || state.slots == null) continue;
+                List<LocalTime> current;
+                try {
+                    current = compute(topic);
+                } catch (RuntimeException e) {
+                    log.warn("Falha ao recalcular disponibilidade de {}: {}", topic, e.getMessage());
+                    continue;
+                }
+                AvailabilityDiffDto diff = diff(topic, state.slots, current);
+                state.slots = current;
+                if (diff.getAdded().isEmpty() && diff.getRemoved().isEmpty()) continue;
+                for (SseEmitter emitter : state.emitters) {
+                    send(topic, emitter, "diff", diff);
+                }
+            } finally {
+                state.lock.unlock();
+            }
+        }
+    }
+
+    /** Comentário periódico para manter a conexão aberta em proxies. */
+    @Scheduled(fixedDelayString = "${nailart.availability.stream.heartbeat-interval:PT25S}")
+    public void heartbeat() {
+        topics.forEach((topic, state) -> {
+            for (SseEmitter emitter : state.emitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("ping"));
+                } catch (IOException | IllegalStateException e) {
+                    unsubscribe(topic, emitter);
+                }
+            }
+        });
+    }
+
+    private List<LocalTime> compute(Topic topic) {
+        recomputations.increment();
+        return topic.employeeId() == null
+                ? availabilityService.getAvailableSlotsForService(topic.serviceId(), topic.date())
+                : availabilityService.getAvailableSlots(topic.employeeId(), topic.serviceId(), topic.date());
+    }
+
+    private void send(Topic topic, SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe(topic, emitter);
+        }
+    }
+
+    private void unsubscribe(Topic topic, SseEmitter emitter) {
+        TopicState state = topics.get(topic);
+        if (state == null) return;
+        state.lock.lock();
+        try {
+            if (!state.emitters.remove(emitter)) return;
+            subscribers.decrementAndGet();
+            if (state.emitters.isEmpty()) {
+                retire(topic, state);
+            }
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    private void retire(Topic topic, TopicState state) {
+        state.retired = true;
+        topics.remove(topic, state);
+    }
+
+    private static AvailabilityDiffDto diff(Topic topic, List<LocalTime> previous, List<LocalTime> current) {
+        Set<LocalTime> before = new HashSet<>(previous);
+        Set<LocalTime> after = new HashSet<>(current);
+        return AvailabilityDiffDto.builder()
+                .serviceId(topic.serviceId())
+                .employeeId(topic.employeeId())
+                .date(topic.date())
+                .added(current.stream().filter(t -> !before.contains(t)).toList())
+                .removed(previous.stream().filter(t -> !after.contains(t)).toList())
+                .build();
+    }
+
+    private record Topic(UUID serviceId, UUID employeeId, LocalDate date) {
+        boolean affectedBy(Set<DayKey> changed) {
+            if (employeeId != null) return changed.contains(new DayKey(employeeId, date));
+            for (DayKey k : changed) {
+                if (k.date().equals(date)) return true;
+            }
+            return false;
+        }
+    }
+
+    private record DayKey(UUID employeeId, LocalDate date) {}
+
+    private static final class TopicState {
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        // ReentrantLock e não synchronized: o cálculo sob o lock consulta o banco (e pode esperar pelo limitador
+        // de conexões), o que prenderia threads virtuais à carrier. Reentrante: send() pode chamar unsubscribe().
+        private final ReentrantLock lock = new ReentrantLock();
+        // Guardados por lock
+        private List<LocalTime> slots;
+        private boolean retired;
+    }
+}
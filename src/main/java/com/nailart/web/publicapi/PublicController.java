@@ -2,6 +2,7 @@ package com.nailart.web.publicapi;
 
 import com.nailart.application.employees.EmployeeService;
 import com.nailart.application.scheduling.AvailabilityService;
+import com.nailart.application.services.CatalogVersion;
 import com.nailart.application.services.ServiceCatalogService;
 import com.nailart.infrastructure.persistence.entity.EmployeeEntity;
 import com.nailart.infrastructure.persistence.entity.ServiceEntity;
@@ -17,19 +18,25 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirements;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/public")
-@RequiredArgsConstructor
 @Tag(name = "1. Público", description = "Endpoints públicos — **não exigem autenticação**. Listagem de serviços, funcionários por serviço e slots disponíveis.")
 @SecurityRequirements
 public class PublicController {
@@ -37,28 +44,59 @@ public class PublicController {
     private final ServiceCatalogService serviceCatalogService;
     private final EmployeeService employeeService;
     private final AvailabilityService availabilityService;
+    private final AvailabilityStreamHub availabilityStreamHub;
+    private final CatalogVersion catalogVersion;
+    private final CacheControl catalogCacheControl;
+
+    public PublicController(
+            ServiceCatalogService serviceCatalogService,
+            EmployeeService employeeService,
+            AvailabilityService availabilityService,
+            AvailabilityStreamHub availabilityStreamHub,
+            CatalogVersion catalogVersion,
+            @Value("${nailart.catalog.http-cache.max-age:PT1M}") Duration maxAge,
+            @Value("${nailart.catalog.http-cache.s-max-age:PT5M}") Duration sharedMaxAge
+    ) {
+        this.serviceCatalogService = serviceCatalogService;
+        this.employeeService = employeeService;
+        this.availabilityService = availabilityService;
+        this.availabilityStreamHub = availabilityStreamHub;
+        this.catalogVersion = catalogVersion;
+        this.catalogCacheControl = CacheControl.maxAge(maxAge).sMaxAge(sharedMaxAge).cachePublic();
+    }
 
     @GetMapping(value = "/services", produces = MediaType.APPLICATION_JSON_VALUE)
-    @Operation(summary = "Listar serviços ativos", description = "Retorna todos os serviços ativos (visíveis para agendamento). Inclui opções adicionais de cada serviço.")
+    @Operation(summary = "Listar serviços ativos", description = "Retorna todos os serviços ativos (visíveis para agendamento). Inclui opções adicionais de cada serviço. " +
+            "Responde com ETag e Cache-Control; com If-None-Match igual ao ETag atual, retorna 304 sem corpo.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Lista de serviços")
+            @ApiResponse(responseCode = "200", description = "Lista de serviços"),
+            @ApiResponse(responseCode = "304", description = "Catálogo não mudou desde o ETag informado")
     })
-    public List<ServiceDto> listServices() {
+    public ResponseEntity<List<ServiceDto>> listServices(WebRequest request) {
+        if (notModified(request)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(catalogCacheControl).build();
+        }
         List<ServiceEntity> list = serviceCatalogService.listActive();
-        return list.stream().map(DtoMapper::toServiceDto).toList();
+        return ResponseEntity.ok().cacheControl(catalogCacheControl).body(list.stream().map(DtoMapper::toServiceDto).toList());
     }
 
     @GetMapping(value = "/employees/by-service/{serviceId}", produces = MediaType.APPLICATION_JSON_VALUE)
-    @Operation(summary = "Listar funcionários por serviço", description = "Retorna os funcionários ativos que realizam o serviço informado. Use o serviceId obtido em GET /services.")
+    @Operation(summary = "Listar funcionários por serviço", description = "Retorna os funcionários ativos que realizam o serviço informado. Use o serviceId obtido em GET /services. " +
+            "Responde com ETag e Cache-Control; com If-None-Match igual ao ETag atual, retorna 304 sem corpo.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Lista de funcionários"),
+            @ApiResponse(responseCode = "304", description = "Catálogo não mudou desde o ETag informado"),
             @ApiResponse(responseCode = "404", description = "Serviço não encontrado")
     })
-    public List<EmployeeDto> listEmployeesByService(
+    public ResponseEntity<List<EmployeeDto>> listEmployeesByService(
             @Parameter(description = "UUID do serviço", required = true, example = "550e8400-e29b-41d4-a716-446655440000")
-            @PathVariable UUID serviceId) {
+            @PathVariable UUID serviceId,
+            WebRequest request) {
+        if (notModified(request)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(catalogCacheControl).build();
+        }
         List<EmployeeEntity> list = employeeService.listByServiceId(serviceId);
-        return list.stream().map(DtoMapper::toEmployeeDto).toList();
+        return ResponseEntity.ok().cacheControl(catalogCacheControl).body(list.stream().map(DtoMapper::toEmployeeDto).toList());
     }
 
     @GetMapping(value = "/availability", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -80,4 +118,76 @@ public class PublicController {
     ) {
         return availabilityService.getAvailableSlots(employeeId, serviceId, date);
     }
+
+    @GetMapping(value = "/availability/any", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Slots disponíveis com qualquer funcionário",
+            description = "União dos horários livres de todos os funcionários ativos que atendem o serviço na data. " +
+                    "Para agendar, envie o horário em POST /api/client/appointments sem employeeId."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Lista de horários (LocalTime) com pelo menos um funcionário livre",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = String.class)))),
+            @ApiResponse(responseCode = "404", description = "Serviço não encontrado")
+    })
+    public List<LocalTime> getAvailabilityForAnyEmployee(
+            @Parameter(description = "UUID do serviço", required = true) @RequestParam UUID serviceId,
+            @Parameter(description = "Data (YYYY-MM-DD)", required = true, example = "2025-02-15")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return availabilityService.getAvailableSlotsForService(serviceId, date);
+    }
+
+    @GetMapping(value = "/availability/range", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Slots disponíveis por período",
+            description = "Mesmas regras de GET /availability, para todos os dias entre from e to (máx. 62 dias), " +
+                    "calculados com uma única carga do período. Formato: objeto data (YYYY-MM-DD) → array de horários; " +
+                    "dias sem horário livre são omitidos."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Mapa dia → horários disponíveis"),
+            @ApiResponse(responseCode = "400", description = "Intervalo inválido")
+    })
+    public Map<LocalDate, List<LocalTime>> getAvailabilityRange(
+            @Parameter(description = "UUID do funcionário", required = true) @RequestParam UUID employeeId,
+            @Parameter(description = "UUID do serviço", required = true) @RequestParam UUID serviceId,
+            @Parameter(description = "Data inicial (YYYY-MM-DD)", required = true, example = "2025-02-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Data final (YYYY-MM-DD)", required = true, example = "2025-02-28")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return availabilityService.getAvailableSlots(employeeId, serviceId, from, to);
+    }
+
+    @GetMapping(value = "/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Acompanhar slots disponíveis (SSE)",
+            description = "Server-Sent Events com as mudanças de disponibilidade de serviço + funcionário + data, " +
+                    "substituindo o polling de GET /availability. Sem employeeId, acompanha GET /availability/any. " +
+                    "Primeiro evento `snapshot` (array de horários); depois eventos `diff` com `added` e `removed` " +
+                    "a cada agendamento, cancelamento, substituição ou bloqueio. Alterações próximas são agrupadas."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Stream text/event-stream"),
+            @ApiResponse(responseCode = "404", description = "Serviço ou funcionário não encontrado"),
+            @ApiResponse(responseCode = "503", description = "Limite de streams abertos atingido; tente novamente após Retry-After")
+    })
+    public SseEmitter streamAvailability(
+            @Parameter(description = "UUID do serviço", required = true) @RequestParam UUID serviceId,
+            @Parameter(description = "UUID do funcionário (opcional)") @RequestParam(required = false) UUID employeeId,
+            @Parameter(description = "Data (YYYY-MM-DD)", required = true, example = "2025-02-15")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return availabilityStreamHub.subscribe(serviceId, employeeId, date);
+    }
+
+    /**
+     * Confere If-None-Match / If-Modified-Since com a versão atual do catálogo; o WebRequest já grava ETag e
+     * Last-Modified na resposta. Lido da memória antes do corpo: uma escrita concorrente no máximo gera um ETag mais antigo.
+     */
+    private boolean notModified(WebRequest request) {
+        CatalogVersion.Snapshot version = catalogVersion.current();
+        return request.checkNotModified(version.etag(), version.lastModified().toEpochMilli());
+    }
 }
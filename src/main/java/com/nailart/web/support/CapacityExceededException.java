@@ -0,0 +1,11 @@
+package com.nailart.web.support;
+
+/**
+ * Recurso temporariamente sem capacidade (p.ex. limite de streams abertos); respondido com 503.
+ */
+public class CapacityExceededException extends RuntimeException {
+
+    public CapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.nailart.web.support;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injeta o id (UUID) do cliente autenticado, resolvido pelo sub do JWT.
+ * Com {@code createIfMissing}, cria o cliente a partir das claims do JWT no primeiro acesso;
+ * sem ele, a ausência do cadastro responde 422 ("Perfil não encontrado.").
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrentClientId {
+
+    boolean createIfMissing() default false;
+}
@@ -0,0 +1,59 @@
+package com.nailart.web.support;
+
+import com.nailart.application.users.PrincipalDirectory;
+import com.nailart.application.users.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.util.UUID;
+
+/**
+ * Resolve parâmetros {@link CurrentClientId}: o id vem do cache de {@link PrincipalDirectory}, sem carregar o usuário.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentClientIdArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final PrincipalResolver principal;
+    private final PrincipalDirectory directory;
+    private final UserService userService;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentClientId.class)
+                && UUID.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public UUID resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        String keycloakId = principal.keycloakId();
+        return directory.findUserId(keycloakId).orElseGet(() -> {
+            if (!parameter.getParameterAnnotation(CurrentClientId.class).createIfMissing()) {
+                throw new IllegalStateException("Perfil não encontrado.");
+            }
+            UUID id = syncUserFromJwt(keycloakId);
+            directory.rememberUser(keycloakId, id);
+            return id;
+        });
+    }
+
+    private UUID syncUserFromJwt(String keycloakId) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String email = keycloakId;
+        String fullName = "Cliente";
+        if (auth != null && auth.getPrincipal() instanceof Jwt jwt) {
+            email = jwt.getClaim("email") != null ? jwt.getClaim("email") : keycloakId;
+            fullName = jwt.getClaim("name") != null ? jwt.getClaim("name") : (jwt.getClaim("preferred_username") != null ? jwt.getClaim("preferred_username") : "Cliente");
+        }
+        return userService.createOrUpdateFromKeycloak(keycloakId, email, fullName, null).getId();
+    }
+}
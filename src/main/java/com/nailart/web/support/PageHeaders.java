@@ -0,0 +1,21 @@
+package com.nailart.web.support;
+
+import com.nailart.application.scheduling.AppointmentCursor;
+import org.springframework.http.ResponseEntity;
+
+public final class PageHeaders {
+
+    public static final String NEXT_CURSOR = "X-Next-Cursor";
+
+    private PageHeaders() {
+    }
+
+    /** Corpo inalterado (lista); o cursor da próxima página, se houver, vai no header X-Next-Cursor. */
+    public static <T> ResponseEntity<T> withNextCursor(AppointmentCursor next, T body) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (next != null) {
+            response.header(NEXT_CURSOR, next.encode());
+        }
+        return response.body(body);
+    }
+}
@@ -0,0 +1,28 @@
+package com.nailart.web.support;
+
+import com.nailart.application.users.PrincipalDirectory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * Usuário autenticado da requisição: keycloak_id do JWT e, via {@link PrincipalDirectory}, o id do funcionário.
+ * O id do cliente é injetado nos controllers com {@link CurrentClientId}.
+ */
+@Component
+@RequiredArgsConstructor
+public class PrincipalResolver {
+
+    private final PrincipalDirectory directory;
+
+    public String keycloakId() {
+        return CurrentUser.getKeycloakIdOrThrow();
+    }
+
+    public UUID employeeIdOrThrow() {
+        return directory.findEmployeeId(keycloakId())
+                .orElseThrow(() -> new NoSuchElementException("Funcionário não encontrado para este usuário."));
+    }
+}
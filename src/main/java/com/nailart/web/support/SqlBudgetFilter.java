@@ -0,0 +1,49 @@
+package com.nailart.web.support;
+
+import com.nailart.infrastructure.persistence.SqlBudget;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Grava os comandos SQL de cada requisição e registra em WARN as que passam do orçamento
+ * (quantidade de comandos ou tempo de JDBC), com as consultas agrupadas por fingerprint.
+ * Só cobre a thread da requisição: o trabalho assíncrono de SSE e exportações fica de fora.
+ */
+@Slf4j
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private static final int LOGGED_FINGERPRINTS = 10;
+
+    private final int maxStatements;
+    private final Duration maxJdbcTime;
+
+    public SqlBudgetFilter(int maxStatements, Duration maxJdbcTime) {
+        this.maxStatements = maxStatements;
+        this.maxJdbcTime = maxJdbcTime;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlBudget.Recording recording = SqlBudget.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            recording.stop();
+            if (recording.statements() > maxStatements || recording.jdbcTime().compareTo(maxJdbcTime) > 0) {
+                log.warn("SQL acima do orçamento em {} {}: {} comandos, {} ms de JDBC (limites {} / {} ms)\n{}",
+                        request.getMethod(), request.getRequestURI(),
+                        recording.statements(), recording.jdbcTime().toMillis(),
+                        maxStatements, maxJdbcTime.toMillis(),
+                        recording.describe(LOGGED_FINGERPRINTS));
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.nailart.web.support;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Escreve linhas em CSV ou NDJSON diretamente no stream da resposta, com buffer fixo.
+ * O arquivo só é finalizado (rodapé do gzip, último buffer) com {@link #finish()}: se a exportação falhar
+ * antes, a saída é abandonada e o cliente não recebe um arquivo truncado que pareça completo.
+ */
+public final class TabularExportWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType(boolean gzip) {
+            return gzip ? "application/gzip" : contentType;
+        }
+
+        public String fileName(String baseName, boolean gzip) {
+            return baseName + "." + extension + (gzip ? ".gz" : "");
+        }
+    }
+
+    private final Format format;
+    private final List<String> columns;
+    private final OutputStream out;
+    private final Writer csv;
+    private final JsonGenerator json;
+
+    public TabularExportWriter(Format format, List<String> columns, OutputStream target, boolean gzip, ObjectMapper objectMapper)
+            throws IOException {
+        this.format = format;
+        this.columns = columns;
+        this.out = gzip
+                ? new GZIPOutputStream(target, BUFFER_SIZE)
+                : new BufferedOutputStream(target, BUFFER_SIZE);
+        if (format == Format.CSV) {
+            this.csv = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            this.json = null;
+            writeCsvLine(columns.toArray());
+        } else {
+            this.csv = null;
+            this.json = objectMapper.getFactory().createGenerator(out);
+            this.json.setRootValueSeparator(null);
+        }
+    }
+
+    /** Valores na mesma ordem das colunas. */
+    public void writeRow(Object... values) throws IOException {
+        if (format == Format.CSV) {
+            writeCsvLine(values);
+            return;
+        }
+        json.writeStartObject();
+        for (int i = 0; i < values.length; i++) {
+            json.writeFieldName(columns.get(i));
+            json.writeObject(values[i]);
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private void writeCsvLine(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) csv.write(',');
+            if (values[i] != null) csv.write(escapeCsv(values[i].toString(), values[i] instanceof CharSequence));
+        }
+        csv.write("\r\n");
+    }
+
+    /**
+     * Texto que começa com {@code = + - @}, TAB ou CR seria interpretado como fórmula por planilhas:
+     * recebe um apóstrofo na frente e vai entre aspas. Números e datas não passam por isso.
+     */
+    private static String escapeCsv(String value, boolean text) {
+        boolean formula = text && !value.isEmpty() && isFormulaStart(value.charAt(0));
+        boolean quote = formula;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        String escaped = formula ? "'" + value : value;
+        return quote ? '"' + escaped.replace("\"", "\"\"") + '"' : escaped;
+    }
+
+    private static boolean isFormulaStart(char c) {
+        return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r';
+    }
+
+    /** Finaliza o formato (e o gzip) sem fechar o stream da resposta. */
+    public void finish() throws IOException {
+        if (csv != null) csv.flush();
+        if (json != null) json.flush();
+        if (out instanceof GZIPOutputStream gzip) {
+            gzip.finish();
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,41 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Antes desta migração nada impedia agendamentos confirmados sobrepostos; com algum par assim, o ADD CONSTRAINT
+-- abaixo falharia com um erro genérico. A migração para antes, listando os pares, para que cada um seja
+-- resolvido manualmente (cancelar ou remarcar um dos dois) e o deploy repetido.
+DO $$
+DECLARE
+    pair_count INTEGER;
+    sample     TEXT;
+BEGIN
+    SELECT COUNT(*), string_agg(pair, E'\n') FILTER (WHERE n <= 20)
+    INTO pair_count, sample
+    FROM (
+        SELECT format('  %s x %s (funcionário %s, %s %s-%s / %s-%s)',
+                      a.id, b.id, a.employee_id, a.appointment_date,
+                      a.start_time, a.end_time, b.start_time, b.end_time) AS pair,
+               row_number() OVER (ORDER BY a.appointment_date, a.start_time) AS n
+        FROM appointments a
+        JOIN appointments b
+          ON b.employee_id = a.employee_id
+         AND b.appointment_date = a.appointment_date
+         AND b.id > a.id
+        WHERE a.status = 'CONFIRMED'
+          AND b.status = 'CONFIRMED'
+          AND a.start_time < b.end_time
+          AND b.start_time < a.end_time
+    ) overlapping;
+
+    IF pair_count > 0 THEN
+        RAISE EXCEPTION E'appointments_employee_no_overlap: % par(es) de agendamentos CONFIRMED sobrepostos do mesmo funcionário. Cancele ou remarque um agendamento de cada par e rode a migração novamente. Primeiros pares:\n%',
+            pair_count, sample;
+    END IF;
+END $$;
+
+ALTER TABLE appointments
+    ADD CONSTRAINT appointments_employee_no_overlap
+        EXCLUDE USING gist (
+            employee_id WITH =,
+            tsrange(appointment_date + start_time, appointment_date + end_time, '[)') WITH &&
+        )
+        WHERE (status = 'CONFIRMED');
@@ -0,0 +1,15 @@
+CREATE TABLE appointment_events (
+                                    id                   BIGSERIAL PRIMARY KEY,
+                                    event_type           VARCHAR(20) NOT NULL CHECK (event_type IN ('CONFIRMED', 'CANCELLED', 'NO_SHOW', 'SUBSTITUTED')),
+                                    appointment_id       UUID NOT NULL REFERENCES appointments(id) ON DELETE CASCADE,
+                                    employee_id          UUID NOT NULL,
+                                    previous_employee_id UUID,
+                                    appointment_date     DATE NOT NULL,
+                                    start_time           TIME NOT NULL,
+                                    end_time             TIME NOT NULL,
+                                    price_cents          INTEGER NOT NULL,
+                                    occurred_at          TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                    published_at         TIMESTAMP
+);
+
+CREATE INDEX idx_appointment_events_unpublished ON appointment_events(id) WHERE published_at IS NULL;
@@ -0,0 +1,35 @@
+CREATE TABLE finance_daily_rollups (
+                                       day                      DATE PRIMARY KEY,
+                                       revenue_cents            BIGINT NOT NULL DEFAULT 0,
+                                       cancellation_loss_cents  BIGINT NOT NULL DEFAULT 0,
+                                       no_show_loss_cents       BIGINT NOT NULL DEFAULT 0,
+                                       expense_fixed_cents      BIGINT NOT NULL DEFAULT 0,
+                                       expense_variable_cents   BIGINT NOT NULL DEFAULT 0,
+                                       expense_materials_cents  BIGINT NOT NULL DEFAULT 0,
+                                       expense_employees_cents  BIGINT NOT NULL DEFAULT 0,
+                                       expense_other_cents      BIGINT NOT NULL DEFAULT 0,
+                                       updated_at               TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO finance_daily_rollups (day, revenue_cents, cancellation_loss_cents, no_show_loss_cents,
+                                   expense_fixed_cents, expense_variable_cents, expense_materials_cents,
+                                   expense_employees_cents, expense_other_cents)
+SELECT day, SUM(revenue), SUM(cancelled), SUM(no_show), SUM(fixed), SUM(variable), SUM(materials), SUM(employees), SUM(other)
+FROM (
+         SELECT appointment_date AS day,
+                CASE WHEN status = 'CONFIRMED' THEN price_cents ELSE 0 END AS revenue,
+                CASE WHEN status = 'CANCELLED' THEN price_cents ELSE 0 END AS cancelled,
+                CASE WHEN status = 'NO_SHOW' THEN price_cents ELSE 0 END AS no_show,
+                0 AS fixed, 0 AS variable, 0 AS materials, 0 AS employees, 0 AS other
+         FROM appointments
+         UNION ALL
+         SELECT expense_date,
+                0, 0, 0,
+                CASE WHEN category = 'FIXED' THEN amount_cents ELSE 0 END,
+                CASE WHEN category = 'VARIABLE' THEN amount_cents ELSE 0 END,
+                CASE WHEN category = 'MATERIALS' THEN amount_cents ELSE 0 END,
+                CASE WHEN category = 'EMPLOYEES' THEN amount_cents ELSE 0 END,
+                CASE WHEN category = 'OTHER' THEN amount_cents ELSE 0 END
+         FROM expenses
+     ) raw
+GROUP BY day;
@@ -0,0 +1,5 @@
+-- Paginação por chave (appointment_date, start_time, id) nas listagens do cliente e da agenda.
+CREATE INDEX idx_appointments_client_keyset ON appointments(client_user_id, appointment_date, start_time, id);
+DROP INDEX idx_appointments_client_date;
+
+CREATE INDEX idx_appointments_date_keyset ON appointments(appointment_date, start_time, id);
@@ -0,0 +1,9 @@
+-- Versão do catálogo público (serviços, opções e funcionários): ETag/Last-Modified dos endpoints públicos.
+-- Linha única, incrementada na mesma transação de cada escrita no catálogo, então todas as instâncias veem a mesma versão.
+CREATE TABLE catalog_version (
+                                 id          SMALLINT PRIMARY KEY CHECK (id = 1),
+                                 version     BIGINT NOT NULL,
+                                 updated_at  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO catalog_version (id, version) VALUES (1, 1);
@@ -0,0 +1,133 @@
+package com.nailart.application.events;
+
+import com.nailart.infrastructure.persistence.entity.AppointmentEventEntity;
+import com.nailart.infrastructure.persistence.repository.AppointmentEventJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AppointmentOutboxTest {
+
+    private final AppointmentEventJpaRepository eventRepo = mock(AppointmentEventJpaRepository.class);
+    private final List<List<Long>> received = new CopyOnWriteArrayList<>();
+    private AppointmentEventBus bus;
+
+    @AfterEach
+    void stopBus() {
+        if (bus != null) bus.stop();
+    }
+
+    @Test
+    void batchRejectedByAConsumerIsNotMarkedAndIsRelayedAgain() throws Exception {
+        CountDownLatch firstAttempt = new CountDownLatch(1);
+        AppointmentEventConsumer flaky = new AppointmentEventConsumer() {
+            @Override
+            public String name() {
+                return "flaky";
+            }
+
+            @Override
+            public void onEvents(List<AppointmentEvent> batch) {
+                received.add(batch.stream().map(AppointmentEvent::id).toList());
+                if (received.size() == 1) {
+                    firstAttempt.countDown();
+                    throw new IllegalStateException("indisponível");
+                }
+            }
+        };
+        AppointmentOutbox outbox = outbox(flaky);
+        when(eventRepo.findByPublishedAtIsNullOrderByIdAsc(any(Limit.class))).thenReturn(List.of(event(1L)));
+
+        outbox.relay();
+        assertThat(firstAttempt.await(5, TimeUnit.SECONDS)).isTrue();
+        awaitIdle();
+        verify(eventRepo, timeout(500).times(0)).markPublished(anyCollection(), any());
+
+        outbox.relay();
+        verify(eventRepo, timeout(5000)).markPublished(eq(List.of(1L)), any(Instant.class));
+        assertThat(received).containsExactly(List.of(1L), List.of(1L));
+    }
+
+    @Test
+    void eventsStillInFlightAreNotEnqueuedTwice() {
+        CountDownLatch release = new CountDownLatch(1);
+        AppointmentEventConsumer slow = new AppointmentEventConsumer() {
+            @Override
+            public String name() {
+                return "slow";
+            }
+
+            @Override
+            public void onEvents(List<AppointmentEvent> batch) {
+                received.add(batch.stream().map(AppointmentEvent::id).toList());
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        AppointmentOutbox outbox = outbox(slow);
+        when(eventRepo.findByPublishedAtIsNullOrderByIdAsc(any(Limit.class))).thenReturn(List.of(event(1L)));
+
+        outbox.relay();
+        outbox.relay();
+        outbox.relay();
+        release.countDown();
+
+        verify(eventRepo, timeout(5000)).markPublished(eq(List.of(1L)), any(Instant.class));
+        assertThat(received).containsExactly(List.of(1L));
+    }
+
+    private AppointmentOutbox outbox(AppointmentEventConsumer consumer) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("consumer", consumer);
+        bus = new AppointmentEventBus(beans.getBeanProvider(AppointmentEventConsumer.class), eventRepo,
+                new SimpleMeterRegistry(), 100, 10);
+        bus.start();
+        return new AppointmentOutbox(eventRepo, bus, new SimpleMeterRegistry(), true, 50, Duration.ofDays(7));
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (bus.inFlight() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(bus.inFlight()).isZero();
+    }
+
+    private static AppointmentEventEntity event(long id) {
+        return AppointmentEventEntity.builder()
+                .id(id)
+                .eventType("CONFIRMED")
+                .appointmentId(UUID.randomUUID())
+                .employeeId(UUID.randomUUID())
+                .appointmentDate(LocalDate.of(2030, 1, 7))
+                .startTime(LocalTime.of(10, 0))
+                .endTime(LocalTime.of(11, 0))
+                .priceCents(5000)
+                .occurredAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.nailart.application.finance;
+
+import com.nailart.support.PostgresIntegrationTest;
+import com.nailart.support.StudioFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FinanceRollupReconcilerTest extends PostgresIntegrationTest {
+
+    private static final LocalDate MONDAY = LocalDate.now().plusDays(400);
+    private static final LocalDate TUESDAY = MONDAY.plusDays(1);
+
+    @Autowired
+    private FinanceRollupReconciler reconciler;
+
+    @Test
+    void driftThatCancelsOutAcrossDaysIsCorrectedPerDay() {
+        StudioFixtures fixtures = fixtures();
+        UUID serviceId = fixtures.service(60, 5000);
+        // Agendamento gravado sem passar pelos rollups, e o mesmo valor lançado no dia errado
+        fixtures.appointment(fixtures.client(), fixtures.employee(serviceId), serviceId, MONDAY,
+                LocalTime.of(10, 0), LocalTime.of(11, 0));
+        jdbc.update("INSERT INTO finance_daily_rollups (day, revenue_cents) VALUES (?, 5000)", Date.valueOf(TUESDAY));
+
+        assertThat(reconciler.reconcile(MONDAY, TUESDAY)).isEqualTo(2);
+
+        assertThat(revenue(MONDAY)).isEqualTo(5000);
+        assertThat(revenue(TUESDAY)).isZero();
+        assertThat(reconciler.reconcile(MONDAY, TUESDAY)).isZero();
+    }
+
+    private long revenue(LocalDate day) {
+        return jdbc.queryForObject("SELECT revenue_cents FROM finance_daily_rollups WHERE day = ?", Long.class, Date.valueOf(day));
+    }
+}
@@ -0,0 +1,104 @@
+package com.nailart.application.scheduling;
+
+import com.nailart.support.HibernateStatements;
+import com.nailart.support.PostgresIntegrationTest;
+import com.nailart.support.StudioFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cada requisição de disponibilidade lê bloqueios e agendamentos do funcionário uma única vez
+ * (via {@link DayScheduleLoader}), independentemente de quantos existam no dia.
+ */
+class AvailabilityQueryCountTest extends PostgresIntegrationTest {
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(40);
+
+    // funcionário + serviços do funcionário (lazy) + serviço
+    private static final int ENTITY_LOADS = 3;
+    // janelas semanais do funcionário + bloqueios + agendamentos
+    private static final int DAY_CONTEXT_LOADS = 3;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private HibernateStatements statements;
+    private StudioFixtures fixtures;
+    private UUID serviceId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        statements = new HibernateStatements(entityManagerFactory);
+        fixtures = fixtures();
+        serviceId = fixtures.service(60, 5000);
+        // Aquece configurações e feriados do estúdio, compartilhados por todos os funcionários.
+        availability(fixtures.employee(serviceId), DATE);
+    }
+
+    @Test
+    void coldDayCostsTheSameStatementsWithOrWithoutBlocksAndAppointments() throws Exception {
+        UUID idle = fixtures.employee(serviceId);
+        UUID busy = fixtures.employee(serviceId);
+        UUID client = fixtures.client();
+        for (int hour = 8; hour < 18; hour++) {
+            fixtures.block(busy, DATE, LocalTime.of(hour, 0), LocalTime.of(hour, 10));
+            fixtures.appointment(client, busy, serviceId, DATE, LocalTime.of(hour, 15), LocalTime.of(hour, 45));
+        }
+
+        long idleCount = availability(idle, DATE);
+        long busyCount = availability(busy, DATE);
+
+        assertThat(idleCount).isEqualTo(ENTITY_LOADS + DAY_CONTEXT_LOADS);
+        assertThat(busyCount).isEqualTo(idleCount);
+    }
+
+    @Test
+    void cachedDaySkipsTheDayContextLoads() throws Exception {
+        UUID employee = fixtures.employee(serviceId);
+        fixtures.block(employee, DATE, LocalTime.of(9, 0), LocalTime.of(10, 0));
+
+        availability(employee, DATE);
+
+        assertThat(availability(employee, DATE)).isEqualTo(ENTITY_LOADS);
+    }
+
+    @Test
+    void rangeLoadsBlocksAndAppointmentsOnceForAllDays() throws Exception {
+        UUID employee = fixtures.employee(serviceId);
+        UUID client = fixtures.client();
+        for (int d = 0; d < 14; d++) {
+            fixtures.block(employee, DATE.plusDays(d), LocalTime.of(8, 0), LocalTime.of(9, 0));
+            fixtures.appointment(client, employee, serviceId, DATE.plusDays(d), LocalTime.of(10, 0), LocalTime.of(11, 0));
+        }
+
+        statements.reset();
+        mvc.perform(get("/api/public/availability/range")
+                        .param("employeeId", employee.toString())
+                        .param("serviceId", serviceId.toString())
+                        .param("from", DATE.toString())
+                        .param("to", DATE.plusDays(13).toString()))
+                .andExpect(status().isOk());
+
+        assertThat(statements.count()).isEqualTo(ENTITY_LOADS + DAY_CONTEXT_LOADS);
+    }
+
+    private long availability(UUID employeeId, LocalDate date) throws Exception {
+        statements.reset();
+        mvc.perform(get("/api/public/availability")
+                        .param("employeeId", employeeId.toString())
+                        .param("serviceId", serviceId.toString())
+                        .param("date", date.toString()))
+                .andExpect(status().isOk());
+        return statements.count();
+    }
+}
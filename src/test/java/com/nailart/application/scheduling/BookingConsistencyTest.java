@@ -0,0 +1,82 @@
+package com.nailart.application.scheduling;
+
+import com.nailart.support.PostgresIntegrationTest;
+import com.nailart.support.StudioFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Agendamento com o cache de disponibilidade desatualizado, como quando outra instância grava
+ * o bloqueio ou o agendamento (aqui, inserção direta no banco depois de aquecer o cache).
+ */
+class BookingConsistencyTest extends PostgresIntegrationTest {
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(45);
+    private static final LocalTime SLOT = LocalTime.of(12, 0);
+
+    private StudioFixtures fixtures;
+    private UUID serviceId;
+    private UUID client;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = fixtures();
+        serviceId = fixtures.service(60, 5000);
+        client = fixtures.client();
+    }
+
+    @Test
+    void blockUnknownToTheCacheRejectsTheBooking() throws Exception {
+        UUID employee = fixtures.employee(serviceId);
+        warmAvailability(employee);
+        fixtures.block(employee, DATE, SLOT.minusMinutes(30), SLOT.plusMinutes(30));
+
+        book(employee)
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message").value("Horário indisponível"));
+    }
+
+    @Test
+    void autoAssignMovesToTheNextCandidateWhenTheFirstIsTaken() throws Exception {
+        UUID first = fixtures.employee(serviceId);
+        UUID second = fixtures.employee(serviceId);
+        // second com mais minutos no dia: first é o candidato preferido
+        fixtures.appointment(fixtures.client(), second, serviceId, DATE, LocalTime.of(15, 0), LocalTime.of(17, 0));
+        warmAvailability(first);
+        warmAvailability(second);
+        fixtures.appointment(fixtures.client(), first, serviceId, DATE, SLOT, SLOT.plusMinutes(60));
+
+        book(null)
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.employeeId").value(second.toString()));
+    }
+
+    private void warmAvailability(UUID employee) throws Exception {
+        mvc.perform(get("/api/public/availability")
+                        .param("employeeId", employee.toString())
+                        .param("serviceId", serviceId.toString())
+                        .param("date", DATE.toString()))
+                .andExpect(status().isOk());
+    }
+
+    private ResultActions book(UUID employee) throws Exception {
+        String body = """
+                {"serviceId":"%s","appointmentDate":"%s","startTime":"%s"%s}"""
+                .formatted(serviceId, DATE, SLOT, employee != null ? ",\"employeeId\":\"" + employee + "\"" : "");
+        return mvc.perform(post("/api/client/appointments")
+                .header("Authorization", JWT.bearer(client.toString(), "client"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+}
@@ -0,0 +1,97 @@
+package com.nailart.application.scheduling;
+
+import com.nailart.support.PostgresIntegrationTest;
+import com.nailart.support.StudioFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Milhares de agendamentos simultâneos no mesmo horário: exatamente um vence por funcionário,
+ * os demais são recusados (horário indisponível ou em disputa) sem deixar agendamento sobreposto.
+ */
+class ConcurrentBookingStressTest extends PostgresIntegrationTest {
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(50);
+    private static final LocalTime SLOT = LocalTime.of(14, 0);
+    private static final int EMPLOYEES = 10;
+    private static final int ATTEMPTS_PER_EMPLOYEE = 200;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private SchedulingService schedulingService;
+
+    @Test
+    void exactlyOneBookingWinsEachContendedSlot() throws Exception {
+        StudioFixtures fixtures = fixtures();
+        UUID serviceId = fixtures.service(60, 5000);
+        List<UUID> employees = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(fixtures.employee(serviceId));
+        }
+        List<UUID> clients = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES * ATTEMPTS_PER_EMPLOYEE; i++) {
+            clients.add(fixtures.client());
+        }
+
+        Map<UUID, AtomicInteger> wins = new ConcurrentHashMap<>();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Throwable> unexpected = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < clients.size(); i++) {
+                UUID client = clients.get(i);
+                UUID employee = employees.get(i % EMPLOYEES);
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        schedulingService.createAppointment(client, employee, serviceId, DATE, SLOT, List.of(), null);
+                        wins.computeIfAbsent(employee, e -> new AtomicInteger()).incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        rejected.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        synchronized (unexpected) {
+                            unexpected.add(e);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(unexpected).isEmpty();
+        assertThat(wins).hasSize(EMPLOYEES);
+        assertThat(wins.values()).allSatisfy(count -> assertThat(count.get()).isEqualTo(1));
+        assertThat(rejected.get()).isEqualTo(EMPLOYEES * (ATTEMPTS_PER_EMPLOYEE - 1));
+        for (UUID employee : employees) {
+            Integer confirmed = jdbc.queryForObject(
+                    "SELECT COUNT(*) FROM appointments WHERE employee_id = ? AND appointment_date = ? AND status = 'CONFIRMED'",
+                    Integer.class, employee, Date.valueOf(DATE));
+            assertThat(confirmed).isEqualTo(1);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.nailart.application.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Operações do bitmap nas bordas das palavras de 64 minutos e no fim do dia.
+ */
+class DayBitmapTest {
+
+    private static final int SLOT = 15;
+
+    @Test
+    void setAndClearAcrossAWordBoundary() {
+        DayBitmap bitmap = new DayBitmap();
+        bitmap.set(60, 70);
+
+        assertThat(bitmap.isFree(60, 70)).isTrue();
+        assertThat(bitmap.isFree(59, 70)).isFalse();
+        assertThat(bitmap.isFree(60, 71)).isFalse();
+
+        bitmap.clear(63, 65);
+
+        assertThat(bitmap.isFree(60, 63)).isTrue();
+        assertThat(bitmap.isFree(63, 64)).isFalse();
+        assertThat(bitmap.isFree(64, 65)).isFalse();
+        assertThat(bitmap.isFree(65, 70)).isTrue();
+    }
+
+    @Test
+    void isFreeRejectsEmptyAndOutOfDayRanges() {
+        DayBitmap bitmap = fullDay();
+
+        assertThat(bitmap.isFree(0, DayBitmap.MINUTES_PER_DAY)).isTrue();
+        assertThat(bitmap.isFree(600, 600)).isFalse();
+        assertThat(bitmap.isFree(-1, 10)).isFalse();
+        assertThat(bitmap.isFree(1380, DayBitmap.MINUTES_PER_DAY + 1)).isFalse();
+    }
+
+    @Test
+    void withClearedCopiesAndLeavesThePublishedBitmapUntouched() {
+        DayBitmap original = fullDay();
+
+        DayBitmap busy = original.withCleared(600, 660);
+
+        assertThat(original.isFree(600, 660)).isTrue();
+        assertThat(busy.isFree(600, 660)).isFalse();
+        assertThat(busy.isFree(599, 601)).isFalse();
+        assertThat(busy.isFree(540, 600)).isTrue();
+        assertThat(busy.isFree(660, 720)).isTrue();
+    }
+
+    @Test
+    void freeRunsMergesRunsThatMeetOnAWordBoundary() {
+        DayBitmap bitmap = new DayBitmap();
+        assertThat(bitmap.freeRuns()).isZero();
+
+        bitmap.set(60, 64);
+        bitmap.set(64, 70);
+        assertThat(bitmap.freeRuns()).isEqualTo(1);
+
+        bitmap.set(128, 192);
+        bitmap.set(1400, DayBitmap.MINUTES_PER_DAY);
+        assertThat(bitmap.freeRuns()).isEqualTo(3);
+        assertThat(fullDay().freeRuns()).isEqualTo(1);
+    }
+
+    @Test
+    void slotStartsAreAlignedAndFitTheWholeLength() {
+        DayBitmap bitmap = new DayBitmap();
+        bitmap.set(8 * 60, 12 * 60);
+
+        // 70 min (60 + buffer) cabem de 08:00 até 10:45
+        assertThat(slotStarts(bitmap, 70)).containsExactly(
+                480, 495, 510, 525, 540, 555, 570, 585, 600, 615, 630, 645);
+    }
+
+    @Test
+    void unalignedFreeStartRoundsUpToTheNextSlot() {
+        DayBitmap bitmap = new DayBitmap();
+        bitmap.set(487, 600);
+
+        assertThat(slotStarts(bitmap, 70)).containsExactly(495, 510, 525);
+    }
+
+    @Test
+    void slotStartsReachTheEndOfTheDay() {
+        DayBitmap bitmap = new DayBitmap();
+        bitmap.set(1380, DayBitmap.MINUTES_PER_DAY);
+
+        assertThat(slotStarts(bitmap, 60)).containsExactly(1380);
+        assertThat(bitmap.nextBusy(1400)).isEqualTo(DayBitmap.MINUTES_PER_DAY);
+        assertThat(slotStarts(fullDay(), 70)).hasSize(1370 / SLOT + 1);
+    }
+
+    @Test
+    void busyMinuteInsideTheLengthSkipsToTheNextFreeRun() {
+        DayBitmap bitmap = fullDay().withCleared(500, 501);
+        bitmap = bitmap.withCleared(0, 480).withCleared(720, DayBitmap.MINUTES_PER_DAY);
+
+        // 08:00 não cabe (minuto 500 ocupado); o próximo início alinhado após 500 é 510
+        assertThat(slotStarts(bitmap, 30)).startsWith(510, 525, 540).doesNotContain(480, 495);
+    }
+
+    private static DayBitmap fullDay() {
+        DayBitmap bitmap = new DayBitmap();
+        bitmap.set(0, DayBitmap.MINUTES_PER_DAY);
+        return bitmap;
+    }
+
+    private static int[] slotStarts(DayBitmap bitmap, int lengthMinutes) {
+        int[] out = new int[DayBitmap.MINUTES_PER_DAY / SLOT + 1];
+        return Arrays.copyOf(out, bitmap.slotStarts(SLOT, lengthMinutes, out));
+    }
+}
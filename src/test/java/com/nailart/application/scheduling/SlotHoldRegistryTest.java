@@ -0,0 +1,82 @@
+package com.nailart.application.scheduling;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SlotHoldRegistryTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 7);
+
+    private final List<Object> published = new ArrayList<>();
+    private final SlotHoldRegistry registry = new SlotHoldRegistry(new SimpleMeterRegistry(), published::add, Duration.ofMinutes(5));
+
+    @Test
+    void concurrentHoldsOfTheSameClientLeaveOnlyTheLastOne() throws Exception {
+        UUID client = UUID.randomUUID();
+        List<UUID> employees = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            employees.add(UUID.randomUUID());
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<SlotHoldRegistry.SlotHold>> futures = new ArrayList<>();
+            for (UUID employee : employees) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return registry.hold(client, employee, DATE, 600, 660);
+                }));
+            }
+            start.countDown();
+            for (Future<SlotHoldRegistry.SlotHold> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        UUID other = UUID.randomUUID();
+        long held = employees.stream()
+                .filter(e -> registry.isHeldByOthers(e, DATE, 600, 660, other))
+                .count();
+        assertThat(held).isEqualTo(1);
+    }
+
+    @Test
+    void rejectedHoldKeepsThePreviousOne() {
+        UUID employee = UUID.randomUUID();
+        UUID client = UUID.randomUUID();
+        SlotHoldRegistry.SlotHold previous = registry.hold(client, employee, DATE, 540, 600);
+        registry.hold(UUID.randomUUID(), employee, DATE, 600, 660);
+
+        assertThatThrownBy(() -> registry.hold(client, employee, DATE, 630, 690))
+                .isInstanceOf(AppointmentConflictException.class);
+        assertThat(registry.find(previous.token())).contains(previous);
+    }
+
+    @Test
+    void sweepPublishesEachFreedEmployeeDayOnce() {
+        SlotHoldRegistry expiring = new SlotHoldRegistry(new SimpleMeterRegistry(), published::add, Duration.ZERO);
+        UUID employee = UUID.randomUUID();
+        expiring.hold(UUID.randomUUID(), employee, DATE, 540, 600);
+        expiring.hold(UUID.randomUUID(), employee, DATE, 600, 660);
+
+        expiring.sweepExpired();
+        expiring.sweepExpired();
+
+        assertThat(published).containsExactly(new AvailabilityChangedEvent(employee, DATE));
+    }
+}
@@ -0,0 +1,111 @@
+package com.nailart.config;
+
+import com.nailart.support.TestJwtIssuer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Decoder e conversor configurados como em produção, com as chaves lidas de
+ * {@code nailart.security.jwk-set-location}.
+ */
+class JwtDecodingTest {
+
+    private static final TestJwtIssuer JWT = new TestJwtIssuer();
+
+    private final SecurityConfig config = new SecurityConfig();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtDecoder decoder = config.jwtDecoder(
+            new JwkSetCache(new DefaultResourceLoader(), JWT.jwkSetLocation(), "", Duration.ofSeconds(30)),
+            TestJwtIssuer.ISSUER);
+    private final JwtAuthenticationConverter converter = config.jwtAuthenticationConverter(meterRegistry, 100, Duration.ofHours(1));
+
+    @Test
+    void validTokenIsDecodedAndItsRealmRolesBecomeAuthorities() {
+        Jwt jwt = decoder.decode(JWT.token("user-1", "client", "manager"));
+
+        AbstractAuthenticationToken authentication = converter.convert(jwt);
+
+        assertThat(jwt.getSubject()).isEqualTo("user-1");
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_CLIENT", "ROLE_MANAGER");
+    }
+
+    @Test
+    void authoritiesAreConvertedOncePerToken() {
+        Jwt jwt = decoder.decode(JWT.token("user-2", "admin"));
+
+        var first = converter.convert(jwt).getAuthorities();
+        var second = converter.convert(decoder.decode(jwt.getTokenValue())).getAuthorities();
+
+        assertThat(second).containsExactlyElementsOf(first);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "security.jwt.authorities").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void tokenSignedByAnUnknownKeyIsRejected() {
+        String foreign = new TestJwtIssuer().token("user-3", "admin");
+
+        assertThatThrownBy(() -> decoder.decode(foreign)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void unknownKeyRequestsDoNotQueueBehindAnOngoingReload() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        AtomicBoolean block = new AtomicBoolean();
+        DefaultResourceLoader resourceLoader = new DefaultResourceLoader() {
+            @Override
+            public Resource getResource(String location) {
+                loads.incrementAndGet();
+                if (block.get()) {
+                    loading.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.getResource(location);
+            }
+        };
+        JwtDecoder zeroInterval = config.jwtDecoder(
+                new JwkSetCache(resourceLoader, JWT.jwkSetLocation(), "", Duration.ZERO), TestJwtIssuer.ISSUER);
+        String foreign = new TestJwtIssuer().token("user-4", "admin");
+        block.set(true);
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> {
+            assertThatThrownBy(() -> zeroInterval.decode(foreign)).isInstanceOf(JwtException.class);
+        });
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            for (int i = 0; i < 5; i++) {
+                assertThatThrownBy(() -> zeroInterval.decode(foreign)).isInstanceOf(JwtException.class);
+            }
+        });
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+
+        assertThat(loads).hasValue(2);
+    }
+}
@@ -0,0 +1,59 @@
+package com.nailart.config;
+
+import com.nailart.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Actuator só na porta de gerenciamento (exportação Prometheus ligada, como em produção): a porta da API não expõe /actuator/prometheus, e na porta
+ * de gerenciamento /actuator/metrics exige admin.
+ */
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+class ManagementPortTest extends PostgresIntegrationTest {
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Test
+    void prometheusIsServedOnlyOnTheManagementPort() {
+        assertThat(managementPort).isNotEqualTo(serverPort);
+        assertThat(get(serverPort, "/actuator/prometheus", null).getStatusCode()).isNotEqualTo(HttpStatus.OK);
+
+        ResponseEntity<String> scrape = get(managementPort, "/actuator/prometheus", null);
+        assertThat(scrape.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(scrape.getBody()).contains("finance_dashboard_seconds");
+    }
+
+    @Test
+    void metricsEndpointRequiresAdmin() {
+        assertThat(get(managementPort, "/actuator/metrics", JWT.bearer("client-metrics", "client")).getStatusCode())
+                .isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(get(managementPort, "/actuator/metrics", JWT.bearer("admin-metrics", "admin")).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+    }
+
+    private ResponseEntity<String> get(int port, String path, String authorization) {
+        HttpHeaders headers = new HttpHeaders();
+        if (authorization != null) headers.set(HttpHeaders.AUTHORIZATION, authorization);
+        return rest.exchange("http://localhost:" + port + path, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+}
@@ -0,0 +1,69 @@
+package com.nailart.infrastructure.persistence;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * V2 (constraint de sobreposição) sobre uma base que já tem agendamentos confirmados sobrepostos:
+ * a migração deve parar listando os pares, sem criar a constraint.
+ */
+class NoOverlapMigrationTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @BeforeAll
+    static void start() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+    }
+
+    @AfterAll
+    static void stop() throws Exception {
+        postgres.close();
+    }
+
+    @Test
+    void stopsWithTheOverlappingPairsInsteadOfAGenericConstraintError() {
+        String schema = "overlap_" + UUID.randomUUID().toString().replace("-", "");
+        Flyway.configure().dataSource(postgres.getPostgresDatabase()).schemas(schema).target("1").load().migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(postgres.getPostgresDatabase());
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        insertOverlapping(jdbc, schema, first, second);
+
+        Flyway flyway = Flyway.configure().dataSource(postgres.getPostgresDatabase()).schemas(schema).load();
+        assertThatThrownBy(flyway::migrate)
+                .hasMessageContaining("1 par(es) de agendamentos CONFIRMED sobrepostos")
+                .hasMessageContaining(first.toString())
+                .hasMessageContaining(second.toString());
+
+        Integer constraints = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM pg_constraint WHERE conname = 'appointments_employee_no_overlap' AND connamespace = ?::regnamespace",
+                Integer.class, schema);
+        assertThat(constraints).isZero();
+    }
+
+    private static void insertOverlapping(JdbcTemplate jdbc, String schema, UUID first, UUID second) {
+        UUID client = UUID.randomUUID();
+        UUID employee = UUID.randomUUID();
+        UUID service = UUID.randomUUID();
+        jdbc.update("INSERT INTO " + schema + ".users (id, keycloak_id, email, full_name) VALUES (?, 'c', 'c@test.local', 'C')", client);
+        jdbc.update("INSERT INTO " + schema + ".employees (id, full_name) VALUES (?, 'F')", employee);
+        jdbc.update("INSERT INTO " + schema + ".services (id, name, price_cents, duration_min, duration_max) VALUES (?, 'S', 1000, 60, 60)", service);
+        String insert = "INSERT INTO " + schema + ".appointments (id, client_user_id, employee_id, service_id, appointment_date, "
+                + "start_time, end_time, status, price_cents, duration_min, client_name, client_email) "
+                + "VALUES (?, ?, ?, ?, DATE '2025-03-10', ?::time, ?::time, 'CONFIRMED', 1000, 60, 'C', 'c@test.local')";
+        jdbc.update(insert, first, client, employee, service, "10:00", "11:00");
+        jdbc.update(insert, second, client, employee, service, "10:30", "11:30");
+        // Cancelado não conta
+        jdbc.update(insert.replace("'CONFIRMED'", "'CANCELLED'"), UUID.randomUUID(), client, employee, service, "10:15", "10:45");
+    }
+}
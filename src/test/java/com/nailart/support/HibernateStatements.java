@@ -0,0 +1,26 @@
+package com.nailart.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Comandos preparados pelo Hibernate (Statistics, ligadas no perfil de teste) entre {@link #reset()}
+ * e {@link #count()}. As estatísticas são globais: só é confiável sem outras requisições em paralelo.
+ */
+public final class HibernateStatements {
+
+    private final Statistics statistics;
+
+    public HibernateStatements(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public void reset() {
+        statistics.clear();
+    }
+
+    public long count() {
+        return statistics.getPrepareStatementCount();
+    }
+}
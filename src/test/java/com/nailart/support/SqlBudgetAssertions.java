@@ -0,0 +1,34 @@
+package com.nailart.support;
+
+import com.nailart.infrastructure.persistence.SqlBudget;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Fixa a quantidade de comandos SQL de um fluxo usando a mesma gravação do {@code SqlBudgetFilter}.
+ * Requisições MockMvc rodam na thread do teste, então a gravação da requisição soma nesta.
+ */
+public final class SqlBudgetAssertions {
+
+    private static final int DESCRIBED_FINGERPRINTS = 20;
+
+    private SqlBudgetAssertions() {
+    }
+
+    /**
+     * Executa {@code action} e lança {@link AssertionError} com as consultas agrupadas
+     * se ela emitir mais de {@code maxStatements} comandos SQL.
+     */
+    public static <T> T expectAtMost(int maxStatements, Callable<T> action) throws Exception {
+        T result;
+        try (SqlBudget.Recording recording = SqlBudget.start()) {
+            result = action.call();
+            recording.stop();
+            if (recording.statements() > maxStatements) {
+                throw new AssertionError("Esperado no máximo " + maxStatements + " comandos SQL, executados "
+                        + recording.statements() + ":\n" + recording.describe(DESCRIBED_FINGERPRINTS));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,73 @@
+package com.nailart.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Dados de teste inseridos direto via JDBC. Todo registro ganha ids novos; funcionários atendem
+ * todos os dias das 08:00 às 19:00.
+ */
+public final class StudioFixtures {
+
+    private final JdbcTemplate jdbc;
+
+    StudioFixtures(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public UUID service(int durationMinutes, int priceCents) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("INSERT INTO services (id, name, price_cents, duration_min, duration_max, active) VALUES (?, ?, ?, ?, ?, TRUE)",
+                id, "Serviço " + id, priceCents, durationMinutes, durationMinutes);
+        return id;
+    }
+
+    public UUID employee(UUID... serviceIds) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("INSERT INTO employees (id, full_name, email, keycloak_id, active) VALUES (?, ?, ?, ?, TRUE)",
+                id, "Funcionária " + id, id + "@test.local", "employee-" + id);
+        for (UUID serviceId : serviceIds) {
+            jdbc.update("INSERT INTO employee_services (employee_id, service_id) VALUES (?, ?)", id, serviceId);
+        }
+        for (int dow = 1; dow <= 7; dow++) {
+            jdbc.update("INSERT INTO employee_availability (employee_id, day_of_week, start_time, end_time) VALUES (?, ?, ?, ?)",
+                    id, dow, Time.valueOf(LocalTime.of(8, 0)), Time.valueOf(LocalTime.of(19, 0)));
+        }
+        return id;
+    }
+
+    /** Cliente cujo keycloak_id é o próprio id em texto (use como subject do JWT). */
+    public UUID client() {
+        UUID id = UUID.randomUUID();
+        jdbc.update("INSERT INTO users (id, keycloak_id, email, full_name, blocked) VALUES (?, ?, ?, ?, FALSE)",
+                id, id.toString(), id + "@test.local", "Cliente " + id);
+        return id;
+    }
+
+    public UUID appointment(UUID clientId, UUID employeeId, UUID serviceId, LocalDate date, LocalTime start, LocalTime end) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("""
+                        INSERT INTO appointments (id, client_user_id, employee_id, service_id, appointment_date, start_time, end_time,
+                                                  status, price_cents, duration_min, client_name, client_email)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, 'CONFIRMED', 5000, ?, 'Cliente', 'cliente@test.local')""",
+                id, clientId, employeeId, serviceId, Date.valueOf(date), Time.valueOf(start), Time.valueOf(end),
+                (int) Duration.between(start, end).toMinutes());
+        return id;
+    }
+
+    public void expense(String category, int amountCents, LocalDate date) {
+        jdbc.update("INSERT INTO expenses (category, amount_cents, expense_date, description) VALUES (?, ?, ?, 'teste')",
+                category, amountCents, Date.valueOf(date));
+    }
+
+    public void block(UUID employeeId, LocalDate date, LocalTime start, LocalTime end) {
+        jdbc.update("INSERT INTO employee_blocks (employee_id, block_date, start_time, end_time, reason) VALUES (?, ?, ?, ?, 'teste')",
+                employeeId, Date.valueOf(date), Time.valueOf(start), Time.valueOf(end));
+    }
+}
@@ -0,0 +1,83 @@
+package com.nailart.support;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Emissor de JWT local no lugar do Keycloak: par RSA gerado na hora, chave pública em um JWK set
+ * temporário (lido via {@code nailart.security.jwk-set-location}) e tokens no formato de claims do realm.
+ */
+public final class TestJwtIssuer {
+
+    public static final String ISSUER = "http://test.local/realms/nailart";
+
+    private final RSAKey key;
+    private final RSASSASigner signer;
+    private final Path jwkSet;
+
+    public TestJwtIssuer() {
+        try {
+            this.key = new RSAKeyGenerator(2048).keyID("test-" + UUID.randomUUID()).generate();
+            this.signer = new RSASSASigner(key);
+            this.jwkSet = Files.createTempFile("jwks-test", ".json");
+            Files.writeString(jwkSet, new JWKSet(key.toPublicJWK()).toString());
+            jwkSet.toFile().deleteOnExit();
+        } catch (JOSEException e) {
+            throw new IllegalStateException(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Valor para {@code nailart.security.jwk-set-location}. */
+    public String jwkSetLocation() {
+        return jwkSet.toUri().toString();
+    }
+
+    public String token(String subject, String... roles) {
+        return token(subject, UUID.randomUUID().toString(), Duration.ofMinutes(5), roles);
+    }
+
+    public String token(String subject, String jti, Duration ttl, String... roles) {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(ISSUER)
+                .subject(subject)
+                .jwtID(jti)
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(ttl)))
+                .claim("realm_access", Map.of("roles", List.of(roles)))
+                .claim("email", subject + "@test.local")
+                .claim("name", "Teste " + subject)
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        try {
+            jwt.sign(signer);
+        } catch (JOSEException e) {
+            throw new IllegalStateException(e);
+        }
+        return jwt.serialize();
+    }
+
+    public String bearer(String subject, String... roles) {
+        return "Bearer " + token(subject, roles);
+    }
+}
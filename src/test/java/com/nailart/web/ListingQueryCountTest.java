@@ -0,0 +1,129 @@
+package com.nailart.web;
+
+import com.nailart.support.HibernateStatements;
+import com.nailart.support.PostgresIntegrationTest;
+import com.nailart.support.StudioFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Listagens de agenda, de agendamentos do cliente e financeiras custam um número fixo de comandos
+ * por requisição, independentemente de quantas linhas retornam (sem N+1 nas associações).
+ */
+class ListingQueryCountTest extends PostgresIntegrationTest {
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(70);
+    private static final String ADMIN = JWT.bearer("admin-listing", "admin");
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private HibernateStatements statements;
+    private StudioFixtures fixtures;
+    private UUID serviceId;
+
+    @BeforeEach
+    void setUp() {
+        statements = new HibernateStatements(entityManagerFactory);
+        fixtures = fixtures();
+        serviceId = fixtures.service(30, 5000);
+    }
+
+    @Test
+    void agendaPageCostsOneStatementWhateverItsSize() throws Exception {
+        UUID few = fixtures.employee(serviceId);
+        UUID many = fixtures.employee(serviceId);
+        UUID client = fixtures.client();
+        fixtures.appointment(client, few, serviceId, DATE, LocalTime.of(9, 0), LocalTime.of(9, 30));
+        for (int hour = 8; hour < 18; hour++) {
+            UUID other = fixtures.employee(serviceId);
+            fixtures.appointment(client, many, serviceId, DATE, LocalTime.of(hour, 0), LocalTime.of(hour, 30));
+            fixtures.appointment(fixtures.client(), other, serviceId, DATE, LocalTime.of(hour, 0), LocalTime.of(hour, 30));
+        }
+
+        long oneRow = count(agenda(DATE).param("employeeId", few.toString()));
+        long tenRows = count(agenda(DATE).param("employeeId", many.toString()));
+        long wholeDay = count(agenda(DATE));
+
+        assertThat(oneRow).isEqualTo(1);
+        assertThat(tenRows).isEqualTo(oneRow);
+        assertThat(wholeDay).isEqualTo(oneRow);
+    }
+
+    @Test
+    void clientListCostsOneStatementWhateverItsSize() throws Exception {
+        UUID few = fixtures.client();
+        UUID many = fixtures.client();
+        UUID employee = fixtures.employee(serviceId);
+        fixtures.appointment(few, employee, serviceId, DATE.plusDays(1), LocalTime.of(8, 0), LocalTime.of(8, 30));
+        for (int hour = 9; hour < 19; hour++) {
+            fixtures.appointment(many, fixtures.employee(serviceId), serviceId, DATE.plusDays(1), LocalTime.of(hour, 0), LocalTime.of(hour, 30));
+        }
+        // Primeira requisição de cada cliente resolve o id pelo keycloak_id; depois vem do cache.
+        count(clientAppointments(few));
+        count(clientAppointments(many));
+
+        long oneRow = count(clientAppointments(few));
+        long tenRows = count(clientAppointments(many));
+
+        assertThat(oneRow).isEqualTo(1);
+        assertThat(tenRows).isEqualTo(oneRow);
+    }
+
+    @Test
+    void financeListingsCostOneStatementWhateverTheirSize() throws Exception {
+        LocalDate quiet = DATE.plusDays(10);
+        LocalDate busy = DATE.plusDays(20);
+        fixtures.expense("OTHER", 1000, quiet);
+        for (int i = 0; i < 10; i++) {
+            fixtures.expense(i % 2 == 0 ? "MATERIALS" : "FIXED", 1000 + i, busy);
+        }
+
+        long fewExpenses = count(finance("/expenses", quiet));
+        long manyExpenses = count(finance("/expenses", busy));
+        long quietDashboard = count(finance("/dashboard", quiet));
+        long busyDashboard = count(finance("/dashboard", busy));
+
+        assertThat(fewExpenses).isEqualTo(1);
+        assertThat(manyExpenses).isEqualTo(fewExpenses);
+        assertThat(quietDashboard).isEqualTo(1);
+        assertThat(busyDashboard).isEqualTo(quietDashboard);
+    }
+
+    private MockHttpServletRequestBuilder agenda(LocalDate date) {
+        return get("/api/admin/agenda")
+                .header("Authorization", ADMIN)
+                .param("date", date.toString());
+    }
+
+    private MockHttpServletRequestBuilder clientAppointments(UUID client) {
+        return get("/api/client/appointments")
+                .header("Authorization", JWT.bearer(client.toString(), "client"))
+                .param("from", DATE.toString())
+                .param("to", DATE.plusDays(1).toString());
+    }
+
+    private MockHttpServletRequestBuilder finance(String path, LocalDate date) {
+        return get("/api/admin/finance" + path)
+                .header("Authorization", ADMIN)
+                .param("from", date.toString())
+                .param("to", date.toString());
+    }
+
+    private long count(MockHttpServletRequestBuilder request) throws Exception {
+        statements.reset();
+        mvc.perform(request).andExpect(status().isOk());
+        return statements.count();
+    }
+}
@@ -0,0 +1,63 @@
+package com.nailart.web.admin;
+
+import com.nailart.support.PostgresIntegrationTest;
+import com.nailart.support.StudioFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+import static com.nailart.support.SqlBudgetAssertions.expectAtMost;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Orçamento de SQL da agenda do dia, medido pela gravação do {@code SqlBudgetFilter}: uma página
+ * com funcionário e serviço de cada agendamento custa um único comando.
+ */
+class AdminAgendaSqlBudgetTest extends PostgresIntegrationTest {
+
+    private static final int APPOINTMENTS = 12;
+
+    @Test
+    void dayAgendaFitsInOneStatement() throws Exception {
+        LocalDate date = seedDay(80);
+
+        expectAtMost(1, () -> agenda(date)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(APPOINTMENTS))
+                .andExpect(jsonPath("$[0].employeeName").exists())
+                .andExpect(jsonPath("$[0].serviceName").exists()));
+    }
+
+    @Test
+    void overBudgetListsTheStatements() {
+        LocalDate date = seedDay(81);
+
+        assertThatThrownBy(() -> expectAtMost(0, () -> agenda(date)))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("executados 1")
+                .hasMessageContaining("1x select");
+    }
+
+    private LocalDate seedDay(int daysAhead) {
+        LocalDate date = LocalDate.now().plusDays(daysAhead);
+        StudioFixtures fixtures = fixtures();
+        UUID serviceId = fixtures.service(30, 5000);
+        for (int i = 0; i < APPOINTMENTS; i++) {
+            LocalTime start = LocalTime.of(8 + i % 10, 0);
+            fixtures.appointment(fixtures.client(), fixtures.employee(serviceId), serviceId, date, start, start.plusMinutes(30));
+        }
+        return date;
+    }
+
+    private ResultActions agenda(LocalDate date) throws Exception {
+        return mvc.perform(get("/api/admin/agenda")
+                .header("Authorization", JWT.bearer("admin-budget", "admin"))
+                .param("date", date.toString()));
+    }
+}
@@ -0,0 +1,69 @@
+package com.nailart.web.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nailart.support.PostgresIntegrationTest;
+import com.nailart.support.StudioFixtures;
+import com.nailart.web.support.PageHeaders;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Paginação por chave (data, horário, id): agendamentos empatados em data e horário são distinguidos pelo id,
+ * sem repetir nem pular itens entre páginas.
+ */
+class ClientAppointmentsPaginationTest extends PostgresIntegrationTest {
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(60);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void pagesWalkEveryAppointmentOnceInKeyOrder() throws Exception {
+        StudioFixtures fixtures = fixtures();
+        UUID serviceId = fixtures.service(60, 5000);
+        UUID client = fixtures.client();
+        for (int i = 0; i < 5; i++) {
+            fixtures.appointment(client, fixtures.employee(serviceId), serviceId, DATE, LocalTime.of(10, 0), LocalTime.of(11, 0));
+        }
+        UUID employee = fixtures.employee(serviceId);
+        fixtures.appointment(client, employee, serviceId, DATE, LocalTime.of(9, 0), LocalTime.of(10, 0));
+        fixtures.appointment(client, employee, serviceId, DATE.plusDays(1), LocalTime.of(8, 0), LocalTime.of(9, 0));
+        List<String> expected = jdbc.queryForList(
+                "SELECT id::text FROM appointments WHERE client_user_id = ? AND appointment_date BETWEEN ? AND ? " +
+                        "ORDER BY appointment_date, start_time, id",
+                String.class, client, Date.valueOf(DATE), Date.valueOf(DATE.plusDays(1)));
+
+        List<String> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/client/appointments")
+                    .header("Authorization", JWT.bearer(client.toString(), "client"))
+                    .param("from", DATE.toString())
+                    .param("to", DATE.plusDays(1).toString())
+                    .param("limit", "2");
+            if (cursor != null) request.param("cursor", cursor);
+            MvcResult result = mvc.perform(request).andExpect(status().isOk()).andReturn();
+            for (JsonNode item : objectMapper.readTree(result.getResponse().getContentAsString())) {
+                walked.add(item.get("id").asText());
+            }
+            cursor = result.getResponse().getHeader(PageHeaders.NEXT_CURSOR);
+        } while (cursor != null);
+
+        assertThat(walked).hasSize(7).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,38 @@
+package com.nailart.web.publicapi;
+
+import com.nailart.application.scheduling.AvailabilityService;
+import com.nailart.web.support.CapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AvailabilityStreamHubTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 7);
+
+    private final AvailabilityService availabilityService = mock(AvailabilityService.class);
+    private final AvailabilityStreamHub hub =
+            new AvailabilityStreamHub(availabilityService, new SimpleMeterRegistry(), Duration.ofMinutes(1), 3, 2);
+
+    @Test
+    void rejectsSubscribersAboveTheTopicAndGlobalCaps() {
+        when(availabilityService.getAvailableSlotsForService(any(), any())).thenReturn(List.of());
+        UUID crowded = UUID.randomUUID();
+        hub.subscribe(crowded, null, DATE);
+        hub.subscribe(crowded, null, DATE);
+
+        assertThatThrownBy(() -> hub.subscribe(crowded, null, DATE)).isInstanceOf(CapacityExceededException.class);
+
+        hub.subscribe(UUID.randomUUID(), null, DATE);
+        assertThatThrownBy(() -> hub.subscribe(UUID.randomUUID(), null, DATE)).isInstanceOf(CapacityExceededException.class);
+    }
+}
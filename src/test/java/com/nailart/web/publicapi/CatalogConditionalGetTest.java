@@ -0,0 +1,64 @@
+package com.nailart.web.publicapi;
+
+import com.nailart.application.services.CatalogVersion;
+import com.nailart.application.services.ServiceCatalogService;
+import com.nailart.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ETag do catálogo público vem de {@code catalog_version}: muda com escritas feitas por esta instância
+ * e, após o poll, com escritas de outra instância (aqui, o UPDATE direto no banco).
+ */
+class CatalogConditionalGetTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ServiceCatalogService serviceCatalogService;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Test
+    void matchingEtagIsNotModifiedUntilTheCatalogChanges() throws Exception {
+        String etag = currentEtag();
+
+        mvc.perform(get("/api/public/services").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().exists(HttpHeaders.CACHE_CONTROL));
+
+        serviceCatalogService.create("Esmaltação", null, 3000, 30, 30);
+        String afterLocalWrite = currentEtag();
+        assertThat(afterLocalWrite).isNotEqualTo(etag);
+
+        jdbc.update("UPDATE catalog_version SET version = version + 1 WHERE id = 1");
+        mvc.perform(get("/api/public/services").header(HttpHeaders.IF_NONE_MATCH, afterLocalWrite))
+                .andExpect(status().isNotModified());
+        catalogVersion.refresh();
+        mvc.perform(get("/api/public/services").header(HttpHeaders.IF_NONE_MATCH, afterLocalWrite))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void ifModifiedSinceIsHonouredWithoutAnEtag() throws Exception {
+        String lastModified = mvc.perform(get("/api/public/services"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mvc.perform(get("/api/public/services").header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+    }
+
+    private String currentEtag() throws Exception {
+        return mvc.perform(get("/api/public/services"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,56 @@
+package com.nailart.web.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TabularExportWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void csvNeutralizesTextThatSpreadsheetsWouldEvaluate() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        var writer = new TabularExportWriter(TabularExportWriter.Format.CSV, List.of("nome", "valor"), out, false, objectMapper);
+        writer.writeRow("=HYPERLINK(\"http://x\")", -500);
+        writer.writeRow("@SUM(A1)", 10);
+        writer.writeRow("\tcmd", 0);
+        writer.writeRow("Ana, Maria", 1);
+        writer.finish();
+
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\r\n")).containsExactly(
+                "nome,valor",
+                "\"'=HYPERLINK(\"\"http://x\"\")\",-500",
+                "\"'@SUM(A1)\",10",
+                "\"'\tcmd\",0",
+                "\"Ana, Maria\",1");
+    }
+
+    @Test
+    void gzipIsOnlyCompletedByFinish() throws Exception {
+        ByteArrayOutputStream aborted = new ByteArrayOutputStream();
+        var writer = new TabularExportWriter(TabularExportWriter.Format.CSV, List.of("id"), aborted, true, objectMapper);
+        for (int i = 0; i < 20_000; i++) {
+            writer.writeRow("linha " + i);
+        }
+
+        assertThatThrownBy(() -> new GZIPInputStream(new ByteArrayInputStream(aborted.toByteArray())).readAllBytes())
+                .isInstanceOf(EOFException.class);
+
+        ByteArrayOutputStream complete = new ByteArrayOutputStream();
+        var finished = new TabularExportWriter(TabularExportWriter.Format.CSV, List.of("id"), complete, true, objectMapper);
+        finished.writeRow("linha");
+        finished.finish();
+        String csv = new String(new GZIPInputStream(new ByteArrayInputStream(complete.toByteArray())).readAllBytes(), StandardCharsets.UTF_8);
+        assertThat(csv).isEqualTo("id\r\nlinha\r\n");
+    }
+}